@@ -0,0 +1,61 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.benchmarks.BenchmarkData;
+import io.github.alexshamrai.config.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of merging a previous report into a new run, i.e. what {@code CtrfReportManager.startTestRun} does when
+ * the report file already exists: reading its start time and tests and registering the tests for rerun detection.
+ * <p>
+ * It lives in the reporter's package to use the package-private {@link RunEpoch} directly, so the measurement
+ * does not include acquiring a report session or writing a report.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PreviousReportMergeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tests;
+
+    private Path reportFile;
+    private CtrfReportFileService fileService;
+
+    @Setup
+    public void setUp() {
+        reportFile = BenchmarkData.useTemporaryReportFile("jackson");
+        fileService = new CtrfReportFileService(new ConfigReader());
+        fileService.writeResultsToFile(BenchmarkData.report(BenchmarkData.tests(tests)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.delete(reportFile);
+    }
+
+    @Benchmark
+    public RunEpoch mergePreviousReport() {
+        var epoch = new RunEpoch();
+        fileService.getExistingStartTime();
+        fileService.getExistingTests().forEach(epoch::add);
+        return epoch;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-test cost of {@code ctrf.record.test.resources}: reading the CPU time and allocation counters when a test
+ * starts and when it reports its result. The budget is one microsecond per test.
+ * <p>
+ * {@code otherThread} measures the fallback for results reported from another thread than the one that started
+ * the test, which reads the counters of the starting thread by its id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ThreadResourceMeterBenchmark {
+
+    private ThreadResourceMeter meter;
+    private TestDetails details;
+    private Thread otherThread;
+
+    @Setup
+    public void setUp() {
+        meter = new ThreadResourceMeter();
+        details = TestDetails.builder().uniqueId("[engine:benchmark]/[test:0]").displayName("test()").build();
+        // A live thread that never runs a test, standing in for the thread that started it
+        otherThread = new Thread(() -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        otherThread.setDaemon(true);
+        otherThread.start();
+    }
+
+    @Benchmark
+    public long sameThread() {
+        details.setThread(Thread.currentThread());
+        meter.start(details);
+        meter.finish(details);
+        return details.getCpuTimeNanos() + details.getAllocatedBytes();
+    }
+
+    @Benchmark
+    public long otherThread() {
+        details.setThread(Thread.currentThread());
+        meter.start(details);
+        details.setThread(otherThread);
+        meter.finish(details);
+        return details.getCpuTimeNanos() + details.getAllocatedBytes();
+    }
+}
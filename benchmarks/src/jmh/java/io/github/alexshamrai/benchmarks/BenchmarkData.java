@@ -0,0 +1,89 @@
+package io.github.alexshamrai.benchmarks;
+
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Results;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.ctrf.model.Tool;
+import io.github.alexshamrai.util.SummaryUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shared by the benchmarks: results shaped like the ones of a real run, where most tests pass,
+ * some fail with a trace and a few are skipped.
+ */
+public final class BenchmarkData {
+
+    private static final long START_TIME = 1_700_000_000_000L;
+    private static final String TRACE = "org.opentest4j.AssertionFailedError: expected: <1> but was: <2>\n"
+        + "\tat org.junit.jupiter.api.AssertionUtils.fail(AssertionUtils.java:38)\n"
+        + "\tat com.example.OrderServiceTest.shouldCalculateTotal(OrderServiceTest.java:42)\n";
+
+    private BenchmarkData() {
+    }
+
+    public static List<Test> tests(int count) {
+        var tests = new ArrayList<Test>(count);
+        for (int i = 0; i < count; i++) {
+            var status = i % 20 == 0 ? Test.TestStatus.FAILED : i % 50 == 1 ? Test.TestStatus.SKIPPED : Test.TestStatus.PASSED;
+            long start = START_TIME + i;
+            var test = Test.builder()
+                .name("shouldHandleCase" + i + "()")
+                .status(status)
+                .start(start)
+                .stop(start + 5)
+                .duration(5)
+                .filepath("com.example.Generated" + (i / 100) + "Test")
+                .tags(List.of("benchmark"))
+                .threadId("worker-" + (i % 8))
+                .build();
+            if (status == Test.TestStatus.FAILED) {
+                test.setMessage("expected: <1> but was: <2>");
+                test.setTrace(TRACE);
+            }
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    public static CtrfJson report(List<Test> tests) {
+        return CtrfJson.builder()
+            .generatedBy(BenchmarkData.class.getName())
+            .results(Results.builder()
+                .tool(Tool.builder().name("JUnit").build())
+                .summary(SummaryUtil.createSummary(tests, START_TIME, START_TIME + tests.size()))
+                .tests(tests)
+                .build())
+            .build();
+    }
+
+    /**
+     * Points the reporter configuration at a fresh report file, the configuration reads system properties.
+     *
+     * @return the report file, which does not exist yet
+     */
+    public static Path useTemporaryReportFile(String jsonWriter) {
+        try {
+            var reportFile = Files.createTempDirectory("ctrf-benchmark").resolve("ctrf-report.json");
+            System.setProperty("ctrf.report.path", reportFile.toString());
+            System.setProperty("ctrf.json.writer", jsonWriter);
+            return reportFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void delete(Path reportFile) {
+        try {
+            Files.deleteIfExists(reportFile);
+            Files.deleteIfExists(reportFile.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.alexshamrai.benchmarks;
+
+import io.github.alexshamrai.TestProcessor;
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.ctrf.model.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link TestProcessor#setFailureDetails} for failures with deep stacks and chains of causes,
+ * e.g. assertion errors thrown through frameworks and wrapped by them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FailureDetailsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int stackDepth;
+
+    @Param({"0", "3"})
+    private int causes;
+
+    private TestProcessor testProcessor;
+    private Throwable failure;
+
+    @Setup
+    public void setUp() {
+        testProcessor = new TestProcessor(new ConfigReader());
+        failure = failAtDepth(stackDepth);
+        for (int i = 0; i < causes; i++) {
+            failure = new IllegalStateException("Wrapped failure " + i, failure);
+        }
+    }
+
+    @Benchmark
+    public Test setFailureDetails() {
+        var test = new Test();
+        testProcessor.setFailureDetails(test, failure);
+        return test;
+    }
+
+    private static Throwable failAtDepth(int depth) {
+        if (depth <= 1) {
+            return new AssertionError("expected: <1> but was: <2>");
+        }
+        return failAtDepth(depth - 1);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.alexshamrai.benchmarks;
+
+import io.github.alexshamrai.CtrfReportFileService;
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write a report with the configured JSON writer and to read the tests of an existing report,
+ * from 1k to 1M tests. Each measurement is a single write or read of the whole report.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ReportFileBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int tests;
+
+    @Param({"jackson", "builtin"})
+    private String jsonWriter;
+
+    private Path reportFile;
+    private CtrfReportFileService fileService;
+    private CtrfJson report;
+
+    @Setup
+    public void setUp() {
+        reportFile = BenchmarkData.useTemporaryReportFile(jsonWriter);
+        fileService = new CtrfReportFileService(new ConfigReader());
+        report = BenchmarkData.report(BenchmarkData.tests(tests));
+        fileService.writeResultsToFile(report);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.delete(reportFile);
+    }
+
+    @Benchmark
+    public void writeReport() {
+        fileService.writeResultsToFile(report);
+    }
+
+    @Benchmark
+    public List<Test> readExistingTests() {
+        return fileService.getExistingTests();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.alexshamrai.benchmarks;
+
+import io.github.alexshamrai.CtrfReportManager;
+import io.github.alexshamrai.model.TestDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of reporting a passed test, {@code onTestStart} followed by {@code onTestSuccess}, from 1 to 64 threads
+ * sharing one report manager. The manager is replaced every iteration, so the collected results do not pile up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportManagerBenchmark {
+
+    private CtrfReportManager reportManager;
+
+    @Setup(Level.Iteration)
+    public void createReportManager() {
+        reportManager = CtrfReportManager.create();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void startAndSucceed1Thread(TestIds testIds) {
+        startAndSucceed(testIds);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void startAndSucceed4Threads(TestIds testIds) {
+        startAndSucceed(testIds);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void startAndSucceed16Threads(TestIds testIds) {
+        startAndSucceed(testIds);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void startAndSucceed64Threads(TestIds testIds) {
+        startAndSucceed(testIds);
+    }
+
+    private void startAndSucceed(TestIds testIds) {
+        var details = testIds.next();
+        reportManager.onTestStart(details);
+        reportManager.onTestSuccess(details.getUniqueId());
+    }
+
+    /**
+     * Unique test ids per benchmark thread, like tests of different classes running in parallel.
+     */
+    @State(Scope.Thread)
+    public static class TestIds {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private static final Set<String> TAGS = Set.of("benchmark");
+
+        private final String prefix = "[engine:junit-jupiter]/[class:com.example.Benchmark" + THREADS.incrementAndGet() + "Test]/[method:";
+        private long counter;
+
+        TestDetails next() {
+            var name = "test" + counter++ + "()";
+            return TestDetails.builder()
+                .uniqueId(prefix + name + "]")
+                .displayName(name)
+                .tags(TAGS)
+                .filePath("com.example.BenchmarkTest")
+                .build();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.alexshamrai.benchmarks;
+
+import io.github.alexshamrai.ctrf.model.Summary;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.util.SummaryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link SummaryUtil#createSummary} over the results of a run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int tests;
+
+    private List<Test> results;
+
+    @Setup
+    public void setUp() {
+        results = BenchmarkData.tests(tests);
+    }
+
+    @Benchmark
+    public Summary createSummary() {
+        return SummaryUtil.createSummary(results, 0L, 1L);
+    }
+}
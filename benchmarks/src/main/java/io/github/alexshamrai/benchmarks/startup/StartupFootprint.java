@@ -0,0 +1,68 @@
+package io.github.alexshamrai.benchmarks.startup;
+
+import io.github.alexshamrai.launcher.CtrfListener;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Measures the startup footprint of a tiny test JVM with and without the reporter.
+ * <p>
+ * Runs {@link TinyTest} once and prints one machine-readable line with the number of loaded classes and the
+ * JVM uptime when the first test starts and after the run, including writing the report. Every mode has to run in a fresh JVM,
+ * so each mode has its own Gradle task:
+ * <ul>
+ *     <li>{@code baseline} - no reporter registered</li>
+ *     <li>{@code listener} - {@link CtrfListener} registered, with the JSON writer from {@code ctrf.json.writer}</li>
+ * </ul>
+ */
+public final class StartupFootprint {
+
+    private StartupFootprint() {
+    }
+
+    public static void main(String[] args) {
+        var mode = args.length > 0 ? args[0] : "baseline";
+        var probe = new FirstTestProbe();
+        var launcher = LauncherFactory.create(LauncherConfig.builder()
+            .enableTestExecutionListenerAutoRegistration(false)
+            .build());
+        var discoveryRequest = request().selectors(selectClass(TinyTest.class)).build();
+
+        if ("listener".equals(mode)) {
+            launcher.execute(discoveryRequest, probe, new CtrfListener());
+        } else {
+            launcher.execute(discoveryRequest, probe);
+        }
+        int classesAtEnd = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        long uptimeAtEnd = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        System.out.printf("startup mode=%s jsonWriter=%s classesAtFirstTest=%d timeToFirstTestMs=%d classesAtEnd=%d totalMs=%d%n",
+            mode, System.getProperty("ctrf.json.writer", "jackson"), probe.classesAtFirstTest, probe.uptimeAtFirstTest,
+            classesAtEnd, uptimeAtEnd);
+    }
+
+    /**
+     * Records the footprint when the first test starts. It runs after the reporter started the test run,
+     * so the snapshot includes loading the reporter, its configuration and the previous report lookup.
+     */
+    private static final class FirstTestProbe implements TestExecutionListener {
+
+        private volatile int classesAtFirstTest;
+        private volatile long uptimeAtFirstTest;
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            if (testIdentifier.isTest() && uptimeAtFirstTest == 0) {
+                classesAtFirstTest = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+                uptimeAtFirstTest = ManagementFactory.getRuntimeMXBean().getUptime();
+            }
+        }
+    }
+}
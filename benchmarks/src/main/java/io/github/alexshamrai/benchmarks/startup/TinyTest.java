@@ -0,0 +1,16 @@
+package io.github.alexshamrai.benchmarks.startup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The smallest possible test task, like the ones of many short forked test JVMs.
+ */
+public class TinyTest {
+
+    @Test
+    void tinyTest() {
+        assertTrue(true);
+    }
+}
@@ -0,0 +1,41 @@
+package integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Only the report of integration-tests-virtual-threads is produced on virtual threads
+@EnabledIfSystemProperty(named = "ctrf.report.path", matches = ".*virtual-threads.*")
+public class CtrfVirtualThreadTest extends BaseIntegrationTest {
+
+    @Test
+    void verifyVirtualThreadsAreIdentified() {
+        var tests = report.getResults().getTests();
+        assertThat(tests).isNotNull().isNotEmpty();
+
+        tests.forEach(test -> {
+            assertThat(test.getThreadId())
+                .as("Test '" + test.getName() + "' should be identified by its virtual thread id")
+                .startsWith("virtual-");
+            assertThat(test.getExtra())
+                .as("Test '" + test.getName() + "' should have extra data")
+                .isNotNull();
+            assertThat(test.getExtra().getCarrierThread())
+                .as("Test '" + test.getName() + "' should record the carrier thread")
+                .isNotBlank();
+        });
+    }
+
+    @Test
+    void verifyTestsRunInMultipleVirtualThreads() {
+        var threadIds = report.getResults().getTests().stream()
+            .map(io.github.alexshamrai.ctrf.model.Test::getThreadId)
+            .distinct()
+            .toList();
+
+        assertThat(threadIds)
+            .as("Each fake test class should run on its own virtual thread")
+            .hasSizeGreaterThan(1);
+    }
+}
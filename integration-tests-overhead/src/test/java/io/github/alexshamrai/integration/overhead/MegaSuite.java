@@ -0,0 +1,53 @@
+package io.github.alexshamrai.integration.overhead;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A synthetic suite of parameterized tests, shaped by system properties:
+ * <ul>
+ *     <li>{@code overhead.tests} - number of tests, default {@code 10000}</li>
+ *     <li>{@code overhead.failure.ratio} - share of failing tests, default {@code 0.01}</li>
+ *     <li>{@code overhead.parameters} - number of distinct parameters the tests are generated for, default {@code 10}</li>
+ * </ul>
+ * The arguments are generated lazily, so even a million tests do not have to fit in memory before they run.
+ * Unlike dynamic tests, every invocation goes through the test lifecycle callbacks, so {@code CtrfExtension}
+ * reports the same tests as {@code CtrfListener}.
+ * <p>
+ * The Jupiter engine reads tags only from {@code @Tag} annotations, so the tags of the suite cannot come from a
+ * system property like its shape. The suite carries the tags {@code mega} and {@code overhead}, and
+ * {@link OverheadLauncher} selects the tests by the tag expression in {@code overhead.tags}.
+ */
+@Tag("mega")
+@Tag("overhead")
+public class MegaSuite {
+
+    private static final int TESTS = Integer.getInteger("overhead.tests", 10_000);
+    private static final double FAILURE_RATIO = Double.parseDouble(System.getProperty("overhead.failure.ratio", "0.01"));
+    private static final int PARAMETERS = Integer.getInteger("overhead.parameters", 10);
+
+    @ParameterizedTest(name = "case {0} [{1}]")
+    @MethodSource("generatedCases")
+    void generatedTest(int index, String parameter) {
+        int expected = parameter.hashCode();
+        assertEquals(expected, fails(index) ? expected + 1 : parameter.hashCode());
+    }
+
+    static Stream<Arguments> generatedCases() {
+        return IntStream.range(0, TESTS).mapToObj(index -> Arguments.of(index, "param-" + index % Math.max(PARAMETERS, 1)));
+    }
+
+    /**
+     * Spreads the failures evenly: a test fails when it moves the failure count to the next integer.
+     */
+    private static boolean fails(int index) {
+        return Math.floor((index + 1) * FAILURE_RATIO) > Math.floor(index * FAILURE_RATIO);
+    }
+}
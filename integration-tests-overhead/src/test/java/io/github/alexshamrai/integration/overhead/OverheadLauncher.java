@@ -0,0 +1,119 @@
+package io.github.alexshamrai.integration.overhead;
+
+import io.github.alexshamrai.launcher.CtrfListener;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.TagFilter.includeTags;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs {@link MegaSuite} once and appends its cost as a JSON line to {@code overhead.results.file}.
+ * <p>
+ * Arguments: the mode, {@code baseline}, {@code extension} or {@code listener}, and {@code true} to run the tests
+ * in parallel. Each run has to use a fresh JVM. The tests of the suite are selected by the tag expression in
+ * {@code overhead.tags}, default {@code mega & overhead}. The measured values are:
+ * <ul>
+ *     <li>{@code wallMs} - time of the whole execution, including writing the report</li>
+ *     <li>{@code allocatedBytes} - bytes allocated by all live threads during the execution</li>
+ *     <li>{@code peakHeapBytes} - sum of the peak usages of the heap memory pools during the execution</li>
+ *     <li>{@code reportedTests} - number of tests in the summary of the written CTRF report, {@code -1} for the baseline</li>
+ * </ul>
+ */
+public final class OverheadLauncher {
+
+    private static final String DEFAULT_TAGS = "mega & overhead";
+    private static final String AUTODETECTION = "junit.jupiter.extensions.autodetection.enabled";
+    // The summary precedes the tests in the report, so its test count is the first numeric "tests" field
+    private static final Pattern SUMMARY_TESTS = Pattern.compile("\"tests\"\\s*:\\s*(\\d+)");
+    private static final int SUMMARY_HORIZON = 64 * 1024;
+
+    private OverheadLauncher() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var mode = args[0];
+        boolean parallel = Boolean.parseBoolean(args[1]);
+
+        var requestBuilder = request()
+            .selectors(selectClass(MegaSuite.class))
+            .filters(includeTags(System.getProperty("overhead.tags", DEFAULT_TAGS)))
+            // CtrfExtension is registered through META-INF/services, and only detected in the extension mode
+            .configurationParameter(AUTODETECTION, String.valueOf("extension".equals(mode)));
+        if (parallel) {
+            requestBuilder
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "dynamic");
+        }
+        var launcher = LauncherFactory.create(LauncherConfig.builder()
+            .enableTestExecutionListenerAutoRegistration(false)
+            .build());
+        var summary = new SummaryGeneratingListener();
+        var listeners = new ArrayList<TestExecutionListener>();
+        listeners.add(summary);
+        if ("listener".equals(mode)) {
+            listeners.add(new CtrfListener());
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        launcher.execute(requestBuilder.build(), listeners.toArray(new TestExecutionListener[0]));
+
+        long wallMs = (System.nanoTime() - start) / 1_000_000;
+        long allocatedBytes = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long reportedTests = "baseline".equals(mode)
+            ? -1
+            : reportedTests(Path.of(System.getProperty("ctrf.report.path", "ctrf-report.json")));
+
+        var result = String.format(Locale.ROOT,
+            "{\"mode\":\"%s\",\"parallel\":%s,\"tests\":%d,\"failed\":%d,\"wallMs\":%d,\"allocatedBytes\":%d,"
+                + "\"peakHeapBytes\":%d,\"reportedTests\":%d}",
+            mode, parallel, summary.getSummary().getTestsFoundCount(), summary.getSummary().getTestsFailedCount(),
+            wallMs, allocatedBytes, peakHeapBytes, reportedTests);
+        System.out.println(result);
+
+        var resultsFile = Path.of(System.getProperty("overhead.results.file", "build/overhead/results.jsonl"));
+        if (resultsFile.getParent() != null) {
+            Files.createDirectories(resultsFile.getParent());
+        }
+        Files.writeString(resultsFile, result + System.lineSeparator(), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Reads the number of tests from the summary of a CTRF report without parsing the whole, possibly huge, file.
+     */
+    private static long reportedTests(Path report) throws IOException {
+        try (var scanner = new Scanner(report, StandardCharsets.UTF_8)) {
+            if (scanner.findWithinHorizon(SUMMARY_TESTS, SUMMARY_HORIZON) == null) {
+                throw new IllegalStateException("No test count in the summary of " + report);
+            }
+            return Long.parseLong(scanner.match().group(1));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.alexshamrai.integration;
+
+import io.github.alexshamrai.launcher.CtrfListener;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs the fake tests on a virtual-thread-per-task executor and reports them with a single {@link CtrfListener}.
+ * <p>
+ * Every fake test class is executed as a separate task on its own virtual thread, so the engine and all
+ * reporter callbacks run on virtual threads concurrently. The test run itself is started and finished
+ * once around all tasks, which produces one report for the whole plan.
+ */
+public final class VirtualThreadLauncher {
+
+    private static final String FAKE_TESTS_PACKAGE = "io.github.alexshamrai.integration.fake";
+
+    private VirtualThreadLauncher() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var testPlan = createLauncher().discover(request().selectors(selectPackage(FAKE_TESTS_PACKAGE)).build());
+        var ctrfListener = new CtrfListener();
+        var testEventsListener = new TestEventsListener(ctrfListener);
+
+        ctrfListener.testPlanExecutionStarted(testPlan);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var executions = new ArrayList<Future<?>>();
+            for (var root : testPlan.getRoots()) {
+                for (var testClass : testPlan.getChildren(root)) {
+                    testClass.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getClassName())
+                        .ifPresent(className -> executions.add(executor.submit(() -> createLauncher().execute(
+                            request().selectors(selectClass(className)).build(), testEventsListener))));
+                }
+            }
+            for (var execution : executions) {
+                execution.get();
+            }
+        } finally {
+            ctrfListener.testPlanExecutionFinished(testPlan);
+        }
+    }
+
+    private static Launcher createLauncher() {
+        return LauncherFactory.create(LauncherConfig.builder()
+            .enableTestExecutionListenerAutoRegistration(false)
+            .build());
+    }
+
+    /**
+     * Forwards test events of each per-class execution to the shared listener, but not the start and finish
+     * of those executions, which would otherwise finish the shared test run after the first class.
+     */
+    private record TestEventsListener(CtrfListener delegate) implements TestExecutionListener {
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            delegate.executionStarted(testIdentifier);
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            delegate.executionFinished(testIdentifier, testExecutionResult);
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+            delegate.executionSkipped(testIdentifier, reason);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.alexshamrai.integration;
+
+import io.github.alexshamrai.CtrfReportManager;
+import io.github.alexshamrai.model.TestDetails;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+/**
+ * Measures the overhead of reporting test results from many concurrent virtual threads.
+ * <p>
+ * Each round starts {@value #THREADS} virtual threads at once. The baseline round only builds the test details,
+ * the reporter round also passes them through {@code onTestStart} and {@code onTestSuccess} of a fresh
+ * {@link CtrfReportManager}. The difference of the median round times is the reporter overhead.
+ */
+public final class VirtualThreadReporterBenchmark {
+
+    private static final int THREADS = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 15;
+
+    private VirtualThreadReporterBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runBaselineRound();
+            runReporterRound();
+        }
+
+        var baseline = new long[MEASURED_ROUNDS];
+        var reporter = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            baseline[i] = runBaselineRound();
+            reporter[i] = runReporterRound();
+        }
+
+        long baselineMedian = median(baseline);
+        long reporterMedian = median(reporter);
+        double overheadPerTestMicros = (reporterMedian - baselineMedian) / 1_000.0 / THREADS;
+
+        System.out.printf("Virtual threads per round:     %d%n", THREADS);
+        System.out.printf("Baseline round (median):       %.2f ms%n", baselineMedian / 1_000_000.0);
+        System.out.printf("Reporter round (median):       %.2f ms%n", reporterMedian / 1_000_000.0);
+        System.out.printf("Reporter overhead per test:    %.3f us%n", overheadPerTestMicros);
+    }
+
+    private static long runBaselineRound() throws InterruptedException {
+        return runRound(index -> createTestDetails(index));
+    }
+
+    private static long runReporterRound() throws InterruptedException {
+        var reportManager = CtrfReportManager.create();
+        return runRound(index -> {
+            var details = createTestDetails(index);
+            reportManager.onTestStart(details);
+            reportManager.onTestSuccess(details.getUniqueId());
+        });
+    }
+
+    private static long runRound(IntConsumer task) throws InterruptedException {
+        var start = new CountDownLatch(1);
+        var done = new CountDownLatch(THREADS);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        task.accept(index);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            done.await();
+            return System.nanoTime() - startTime;
+        }
+    }
+
+    private static TestDetails createTestDetails(int index) {
+        return TestDetails.builder()
+            .uniqueId("[engine:benchmark]/[test:" + index + "]")
+            .displayName("virtualThreadTest" + index + "()")
+            .tags(Set.of("benchmark"))
+            .filePath(VirtualThreadReporterBenchmark.class.getName())
+            .build();
+    }
+
+    private static long median(long[] values) {
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
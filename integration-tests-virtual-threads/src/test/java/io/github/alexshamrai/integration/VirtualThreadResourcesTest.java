@@ -0,0 +1,43 @@
+package io.github.alexshamrai.integration;
+
+import io.github.alexshamrai.CtrfReportManager;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reports a test from a virtual thread while {@code ctrf.record.test.resources} is set by the Gradle
+ * {@code test} task. Virtual threads have no CPU time counter, so the test is reported without resources.
+ */
+class VirtualThreadResourcesTest {
+
+    @Test
+    @DisplayName("A test on a virtual thread should be reported without resources")
+    void onTestStart_onVirtualThread_reportsTestWithoutResources() throws Exception {
+        var reportManager = CtrfReportManager.create();
+        reportManager.startTestRun("virtual-thread-resources");
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                var details = TestDetails.builder()
+                    .uniqueId("[engine:virtual-threads]/[test:resources]")
+                    .displayName("virtualThreadResources()")
+                    .build();
+                reportManager.onTestStart(details);
+                reportManager.onTestSuccess(details.getUniqueId());
+            }).get();
+        }
+        reportManager.finishTestRun(Optional.empty());
+
+        var report = Files.readString(Path.of(System.getProperty("ctrf.report.path")));
+        assertTrue(report.contains("virtualThreadResources()"), report);
+        assertFalse(report.contains("cpuTimeMicros"), report);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.alexshamrai.integration.fake;
+
+import org.junit.jupiter.api.Test;
+
+public class FirstTest extends BaseFakeTest {
+
+    @Test
+    void firstTestOne() {
+        System.out.println("firstTestOne");
+    }
+
+    @Test
+    void firstTestTwo() {
+        System.out.println("firstTestTwo");
+    }
+
+}
\ No newline at end of file
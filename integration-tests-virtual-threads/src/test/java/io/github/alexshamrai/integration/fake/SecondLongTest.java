@@ -0,0 +1,24 @@
+package io.github.alexshamrai.integration.fake;
+
+import org.junit.jupiter.api.Test;
+
+public class SecondLongTest extends BaseFakeTest {
+
+    @Test
+    void secondLongOneSecondTest() throws InterruptedException {
+        System.out.println("OneSecondTest");
+        Thread.sleep(1000);
+    }
+
+    @Test
+    void secondLongHalfSecondTest() throws InterruptedException {
+        System.out.println("halfSecondTest");
+        Thread.sleep(500);
+    }
+
+    @Test
+    void secondLongTwoSecondTest() throws InterruptedException {
+        System.out.println("TwoSecondTest");
+        Thread.sleep(2000);
+    }
+}
\ No newline at end of file
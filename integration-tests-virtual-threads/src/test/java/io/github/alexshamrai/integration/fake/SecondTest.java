@@ -0,0 +1,17 @@
+package io.github.alexshamrai.integration.fake;
+
+import org.junit.jupiter.api.Test;
+
+public class SecondTest extends BaseFakeTest {
+
+    @Test
+    void secondTestOne() {
+        System.out.println("secondTestOne");
+    }
+
+    @Test
+    void secondTestTwo() {
+        System.out.println("secondTestTwo");
+    }
+
+}
\ No newline at end of file
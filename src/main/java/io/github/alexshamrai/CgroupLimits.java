@@ -0,0 +1,225 @@
+package io.github.alexshamrai;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the CPU and memory limits of the Linux control group the JVM runs in, and how much it was CPU-throttled
+ * during the run.
+ * <p>
+ * The cgroup of the process is taken from {@code /proc/self/cgroup}: the {@code 0::<path>} line for cgroup v2,
+ * the lines of the {@code cpu} and {@code memory} controllers for v1. Its path is resolved below
+ * {@code /sys/fs/cgroup}, or below the mount point of the v1 controller, and when it is not visible there, as in
+ * a container without its own cgroup namespace, the root of the cgroup file system is read instead. The
+ * throttling counters of {@code cpu.stat} are read when the run starts and when the report is composed, so the
+ * report shows the throttling of this run only. On other systems, or when the files cannot be read, only the
+ * limits the JVM sees itself are described.
+ */
+final class CgroupLimits {
+
+    private static final String CGROUP_ROOT = "sys/fs/cgroup";
+    // cgroup v1 reports an unlimited memory limit as the largest page-aligned long
+    private static final long UNLIMITED_V1_MEMORY = Long.MAX_VALUE / 2;
+
+    private final int version;
+    private final Path cpuDirectory;
+    private final Path memoryDirectory;
+    private volatile CpuStat startCpuStat;
+
+    CgroupLimits() {
+        this(Path.of("/"));
+    }
+
+    /**
+     * Package-private constructor for testing purposes, reading {@code proc} and the cgroup file system below
+     * the given root.
+     */
+    CgroupLimits(Path root) {
+        var cgroupRoot = root.resolve(CGROUP_ROOT);
+        var ownCgroups = ownCgroups(root);
+        if (Files.exists(cgroupRoot.resolve("cgroup.controllers"))) {
+            version = 2;
+            cpuDirectory = ownDirectory(cgroupRoot, ownCgroups.get(""));
+            memoryDirectory = cpuDirectory;
+        } else {
+            var cpuMount = Files.isDirectory(cgroupRoot.resolve("cpu")) ? cgroupRoot.resolve("cpu") : cgroupRoot.resolve("cpu,cpuacct");
+            var memoryMount = cgroupRoot.resolve("memory");
+            cpuDirectory = Files.isDirectory(cpuMount) ? ownDirectory(cpuMount, ownCgroups.get("cpu")) : null;
+            memoryDirectory = Files.isDirectory(memoryMount) ? ownDirectory(memoryMount, ownCgroups.get("memory")) : null;
+            version = cpuDirectory != null || memoryDirectory != null ? 1 : 0;
+        }
+    }
+
+    /**
+     * Reads the throttling counters at the start of the run.
+     */
+    void start() {
+        startCpuStat = readCpuStat();
+    }
+
+    /**
+     * Describes the limits and the throttling since {@link #start()}, along with the processors, the maximum
+     * heap and the garbage collectors of the JVM.
+     */
+    Map<String, Object> describe() {
+        var limits = new LinkedHashMap<String, Object>();
+        if (version > 0) {
+            limits.put("cgroupVersion", version);
+            describeCpuQuota(limits);
+            var memoryLimit = readLimit(memoryDirectory, version == 2 ? "memory.max" : "memory.limit_in_bytes");
+            if (memoryLimit != null && memoryLimit < UNLIMITED_V1_MEMORY) {
+                limits.put("memoryLimitBytes", memoryLimit);
+            }
+            describeThrottling(limits);
+        }
+        HostFingerprint.describeJvmResources(limits);
+        return limits;
+    }
+
+    private void describeCpuQuota(Map<String, Object> limits) {
+        Long quota;
+        Long period;
+        if (version == 2) {
+            // "max 100000" or "200000 100000"
+            var cpuMax = readFirstLine(cpuDirectory, "cpu.max");
+            var parts = cpuMax != null ? cpuMax.trim().split("\\s+") : new String[0];
+            quota = parts.length == 2 ? parseLong(parts[0]) : null;
+            period = parts.length == 2 ? parseLong(parts[1]) : null;
+        } else {
+            quota = readLimit(cpuDirectory, "cpu.cfs_quota_us");
+            period = readLimit(cpuDirectory, "cpu.cfs_period_us");
+        }
+        if (quota != null && quota > 0 && period != null && period > 0) {
+            limits.put("cpuQuotaUs", quota);
+            limits.put("cpuPeriodUs", period);
+            limits.put("cpuLimit", Math.round(quota * 100.0 / period) / 100.0);
+        }
+    }
+
+    private void describeThrottling(Map<String, Object> limits) {
+        var start = startCpuStat;
+        var end = readCpuStat();
+        if (start == null || end == null) {
+            return;
+        }
+        long periods = end.periods - start.periods;
+        long throttledPeriods = end.throttledPeriods - start.throttledPeriods;
+        limits.put("cpuPeriods", periods);
+        limits.put("cpuThrottledPeriods", throttledPeriods);
+        limits.put("cpuThrottledTimeMs", (end.throttledNanos - start.throttledNanos) / 1_000_000);
+        if (periods > 0) {
+            limits.put("cpuThrottledPercent", Math.round(throttledPeriods * 10_000.0 / periods) / 100.0);
+        }
+    }
+
+    private CpuStat readCpuStat() {
+        if (cpuDirectory == null) {
+            return null;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(cpuDirectory.resolve("cpu.stat"));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        var stat = new CpuStat();
+        for (String line : lines) {
+            var parts = line.trim().split("\\s+");
+            var value = parts.length == 2 ? parseLong(parts[1]) : null;
+            if (value == null) {
+                continue;
+            }
+            switch (parts[0]) {
+                case "nr_periods":
+                    stat.periods = value;
+                    break;
+                case "nr_throttled":
+                    stat.throttledPeriods = value;
+                    break;
+                case "throttled_usec":
+                    stat.throttledNanos = value * 1_000;
+                    break;
+                case "throttled_time":
+                    stat.throttledNanos = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return stat;
+    }
+
+    /**
+     * Returns the cgroup paths of the process by controller, with the empty name for cgroup v2.
+     */
+    private static Map<String, String> ownCgroups(Path root) {
+        var cgroups = new HashMap<String, String>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(root.resolve("proc/self/cgroup"));
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux
+            return cgroups;
+        }
+        for (String line : lines) {
+            // "0::/user.slice/session-1.scope" for v2, "4:cpu,cpuacct:/docker/<id>" for v1
+            var parts = line.split(":", 3);
+            if (parts.length < 3) {
+                continue;
+            }
+            for (String controller : parts[1].split(",")) {
+                cgroups.put(controller, parts[2]);
+            }
+        }
+        return cgroups;
+    }
+
+    /**
+     * Returns the directory of the cgroup path below the mount point, or the mount point itself when the path is
+     * unknown or not visible below it.
+     */
+    private static Path ownDirectory(Path mount, String cgroupPath) {
+        if (cgroupPath == null) {
+            return mount;
+        }
+        var directory = mount.resolve(cgroupPath.replaceFirst("^/+", "")).normalize();
+        return directory.startsWith(mount) && Files.isDirectory(directory) ? directory : mount;
+    }
+
+    private static Long readLimit(Path directory, String file) {
+        var line = readFirstLine(directory, file);
+        return line != null ? parseLong(line.trim()) : null;
+    }
+
+    private static String readFirstLine(Path directory, String file) {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            var lines = Files.readAllLines(directory.resolve(file));
+            return lines.isEmpty() ? null : lines.get(0);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // e.g. "max" for no limit
+            return null;
+        }
+    }
+
+    private static final class CpuStat {
+        private long periods;
+        private long throttledPeriods;
+        private long throttledNanos;
+    }
+}
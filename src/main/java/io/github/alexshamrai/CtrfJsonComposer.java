@@ -3,11 +3,11 @@ package io.github.alexshamrai;
 import io.github.alexshamrai.config.ConfigReader;
 import io.github.alexshamrai.ctrf.model.CtrfJson;
 import io.github.alexshamrai.ctrf.model.Environment;
+import io.github.alexshamrai.ctrf.model.Extra;
 import io.github.alexshamrai.ctrf.model.Results;
 import io.github.alexshamrai.ctrf.model.Summary;
 import io.github.alexshamrai.ctrf.model.Test;
 import io.github.alexshamrai.ctrf.model.Tool;
-import lombok.RequiredArgsConstructor;
 
 import java.time.Instant;
 import java.util.List;
@@ -20,13 +20,36 @@ import java.util.UUID;
  * to the CTRF standard, including tool information, test environment details,
  * and test results.
  */
-@RequiredArgsConstructor
 public class CtrfJsonComposer {
 
     private static final String TOOL_NAME = "JUnit";
     private final ConfigReader configReader;
     private final StartupDurationProcessor startupDurationProcessor;
     private final String generatedBy;
+    private final CgroupLimits cgroupLimits;
+    private final HostFingerprint hostFingerprint;
+    private final boolean waitForHostFingerprint;
+
+    public CtrfJsonComposer(ConfigReader configReader, StartupDurationProcessor startupDurationProcessor, String generatedBy) {
+        this(configReader, startupDurationProcessor, generatedBy, null, null, true);
+    }
+
+    /**
+     * Creates a composer that adds the container limits and the host fingerprint of the run to the environment.
+     *
+     * @param cgroupLimits    the limits to describe in the environment's extra data, or {@code null}
+     * @param hostFingerprint the fingerprint to add to the environment's extra data, or {@code null}
+     * @param waitForHostFingerprint whether to wait for a fingerprint still being collected, or to leave it out
+     */
+    CtrfJsonComposer(ConfigReader configReader, StartupDurationProcessor startupDurationProcessor, String generatedBy,
+                     CgroupLimits cgroupLimits, HostFingerprint hostFingerprint, boolean waitForHostFingerprint) {
+        this.configReader = configReader;
+        this.startupDurationProcessor = startupDurationProcessor;
+        this.generatedBy = generatedBy;
+        this.cgroupLimits = cgroupLimits;
+        this.hostFingerprint = hostFingerprint;
+        this.waitForHostFingerprint = waitForHostFingerprint;
+    }
 
     /**
      * Generates a complete CTRF JSON object containing test results and metadata.
@@ -70,7 +93,8 @@ public class CtrfJsonComposer {
 
     /**
      * Creates the environment section of the CTRF JSON, including details about
-     * the application, build, repository, operating system, and test environment.
+     * the application, build, repository, operating system, and test environment. Container limits and the host
+     * fingerprint, when set, are added as {@code resourceLimits} and {@code hostFingerprint} to its extra data.
      *
      * @return an Environment object containing all available environment information
      */
@@ -90,6 +114,17 @@ public class CtrfJsonComposer {
             .osRelease(configReader.getOsRelease())
             .osVersion(configReader.getOsVersion())
             .testEnvironment(configReader.getTestEnvironment())
+            .extra(composeEnvironmentExtra())
+            .build();
+    }
+
+    private Extra composeEnvironmentExtra() {
+        if (cgroupLimits == null && hostFingerprint == null) {
+            return null;
+        }
+        return Extra.builder()
+            .resourceLimits(cgroupLimits != null ? cgroupLimits.describe() : null)
+            .hostFingerprint(hostFingerprint != null ? hostFingerprint.describe(waitForHostFingerprint) : null)
             .build();
     }
 }
\ No newline at end of file
@@ -4,14 +4,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.alexshamrai.config.ConfigReader;
 import io.github.alexshamrai.ctrf.model.CtrfJson;
 import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.jfr.ReportPhaseEvent;
+import io.github.alexshamrai.jfr.ReporterEvents;
+import io.github.alexshamrai.util.JsonUtil;
 import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Handles writing the CTRF JSON report to a file on the filesystem.
@@ -19,12 +25,42 @@ import java.util.List;
  * This class takes care of creating necessary directories, handling file system errors,
  * and serializing the CTRF JSON object to a file. The target file path is determined
  * by the configuration provided through {@link ConfigReader}.
+ * <p>
+ * Jackson is only loaded when a previous report has to be read or the report is written with it,
+ * which is the default. With {@code ctrf.json.writer=builtin} the report is written by {@link JsonUtil}.
+ * <p>
+ * The serialize and write phases are recorded as {@link ReportPhaseEvent}s when JFR is available and the event is
+ * enabled in a recording.
  */
 @RequiredArgsConstructor
 public class CtrfReportFileService {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String BUILTIN_JSON_WRITER = "builtin";
+
+    private final AtomicReference<ObjectMapper> objectMapper = new AtomicReference<>();
     private final ConfigReader configReader;
+    private volatile String sessionReportPath;
+    private volatile boolean mergesPreviousReport = true;
+
+    /**
+     * Binds this service to the report file of a launcher session.
+     * <p>
+     * Both the previous report lookup and the report writing use the session's file afterward. A session
+     * without {@code ctrf.session.id} that runs next to other sessions gets a file that any earlier session may
+     * have written, so it does not merge a previous report.
+     *
+     * @param sessionSlot the slot assigned to the session by {@link ReportSessions}
+     */
+    public void bindToSession(int sessionSlot) {
+        var sessionId = configReader.getSessionId();
+        var path = ReportSessions.resolveReportPath(configReader.getReportPath(), sessionId, sessionSlot);
+        this.sessionReportPath = path;
+        this.mergesPreviousReport = ReportSessions.hasSessionId(sessionId) || sessionSlot <= 0;
+        if (!mergesPreviousReport) {
+            System.out.println("Another launcher session is running, the report is written to " + path
+                + " without merging a previous report. Set ctrf.session.id to name the report of each session.");
+        }
+    }
 
     /**
      * Writes the provided CTRF JSON object to a file.
@@ -35,14 +71,22 @@ public class CtrfReportFileService {
      * @param ctrfJson the CTRF JSON object to write to file
      */
     public void writeResultsToFile(CtrfJson ctrfJson) {
-        var filePath = configReader.getReportPath();
+        var filePath = getReportPath();
         var path = Paths.get(filePath);
         try {
             if (path.getParent() != null) {
                 Files.createDirectories(path.getParent());
             }
 
-            objectMapper.writeValue(path.toFile(), ctrfJson);
+            boolean builtinWriter = BUILTIN_JSON_WRITER.equalsIgnoreCase(configReader.getJsonWriter());
+            var serializePhase = ReporterEvents.beginPhase(ReportPhaseEvent.SERIALIZE);
+            if (serializePhase.isRecorded()) {
+                writeWithPhaseEvents(path, ctrfJson, serializePhase);
+            } else if (builtinWriter) {
+                writeWithBuiltinWriter(path, ctrfJson);
+            } else {
+                objectMapper().writeValue(path.toFile(), ctrfJson);
+            }
         } catch (AccessDeniedException e) {
             System.err.println("Access denied: " + filePath + " - " + e.getMessage());
         } catch (IOException e) {
@@ -50,6 +94,12 @@ public class CtrfReportFileService {
         }
     }
 
+    private byte[] serialize(CtrfJson ctrfJson) throws IOException {
+        return BUILTIN_JSON_WRITER.equalsIgnoreCase(configReader.getJsonWriter())
+            ? JsonUtil.toJson(ctrfJson).getBytes(StandardCharsets.UTF_8)
+            : objectMapper().writeValueAsBytes(ctrfJson);
+    }
+
     /**
      * Gets the list of tests from an existing report file, if available.
      *
@@ -79,18 +129,19 @@ public class CtrfReportFileService {
     /**
      * Reads an existing CTRF JSON report file if it exists.
      *
-     * @return CtrfJson object containing the report data, or null if the file doesn't exist or can't be read
+     * @return CtrfJson object containing the report data, or null if the file doesn't exist, can't be read or
+     *     belongs to no previous run of this session
      */
     private CtrfJson readExistingReport() {
-        var filePath = configReader.getReportPath();
+        var filePath = getReportPath();
         var path = Paths.get(filePath);
 
-        if (!Files.exists(path)) {
+        if (!mergesPreviousReport || !Files.exists(path)) {
             return null;
         }
 
         try {
-            var ctrf = objectMapper.readValue(path.toFile(), CtrfJson.class);
+            var ctrf = objectMapper().readValue(path.toFile(), CtrfJson.class);
             System.out.println("File already exists: " + filePath + ". Tests might have been rerun.");
             return ctrf;
         } catch (IOException e) {
@@ -98,4 +149,40 @@ public class CtrfReportFileService {
             return null;
         }
     }
+
+    /**
+     * Writes the report while the serialize and write phases are recorded by JFR. The report is serialized
+     * into memory first, so the recording tells serialization and I/O apart.
+     */
+    private void writeWithPhaseEvents(Path path, CtrfJson ctrfJson, ReporterEvents.Phase serializePhase) throws IOException {
+        int tests = ctrfJson.getResults() != null && ctrfJson.getResults().getTests() != null
+            ? ctrfJson.getResults().getTests().size()
+            : 0;
+        byte[] report = serialize(ctrfJson);
+        serializePhase.finish(tests, report.length);
+
+        var writePhase = ReporterEvents.beginPhase(ReportPhaseEvent.WRITE);
+        Files.write(path, report);
+        writePhase.finish(tests, report.length);
+    }
+
+    private void writeWithBuiltinWriter(Path path, CtrfJson ctrfJson) throws IOException {
+        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            JsonUtil.write(ctrfJson, writer);
+        }
+    }
+
+    private ObjectMapper objectMapper() {
+        var mapper = objectMapper.get();
+        if (mapper == null) {
+            objectMapper.compareAndSet(null, new ObjectMapper());
+            mapper = objectMapper.get();
+        }
+        return mapper;
+    }
+
+    private String getReportPath() {
+        var path = sessionReportPath;
+        return path != null ? path : configReader.getReportPath();
+    }
 }
@@ -1,43 +1,127 @@
 package io.github.alexshamrai;
 
 import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.ctrf.model.Summary;
 import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.jfr.ReportPhaseEvent;
+import io.github.alexshamrai.jfr.ReporterEvents;
+import io.github.alexshamrai.launcher.LauncherDiscovery;
 import io.github.alexshamrai.model.TestDetails;
 import io.github.alexshamrai.util.SummaryUtil;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.github.alexshamrai.ctrf.model.Test.TestStatus.FAILED;
 import static io.github.alexshamrai.ctrf.model.Test.TestStatus.PASSED;
 import static io.github.alexshamrai.ctrf.model.Test.TestStatus.SKIPPED;
 
+/**
+ * Collects test results of a single launcher session and writes them as a CTRF report.
+ * <p>
+ * Every launcher session owns its own instance: {@code CtrfExtension} keeps it in the root
+ * {@code ExtensionContext.Store} and {@code CtrfListener} creates one per listener instance.
+ * Concurrent sessions in the same JVM therefore never mix their results, and each of them
+ * writes its own report file (see {@link ReportSessions}).
+ * <p>
+ * The result callbacks are lock-free: results are collected in a non-blocking queue and reruns are
+ * detected through per-name counters instead of scanning the collected results. No callback holds
+ * a monitor while waiting, so reporting from virtual threads never pins their carrier threads.
+ * <p>
+ * Results are collected into a {@link RunEpoch}. Finishing the run switches to a new epoch and waits,
+ * up to {@code ctrf.finish.await.timeout.ms}, for callbacks that are still reporting into the old one,
+ * e.g. from a thread of a timed out test. Results that arrive after that are counted as
+ * {@code lateResults} in the summary instead of being lost silently. The epoch, the tests in flight, the start time
+ * and the session slot of a run are kept together in a {@link TestRun}, so a run that is still writing its report
+ * never touches the state of the next run of a reused manager.
+ * <p>
+ * Tests that were started but never reported a result, e.g. killed by {@code assertTimeoutPreemptively}
+ * or an interrupted engine, are reported with the {@code other} status and the raw status
+ * {@code incomplete} when the run finishes. With {@code ctrf.max.in.flight.tests} set, the oldest
+ * unfinished tests are evicted early and reported with the raw status {@code evicted}; a result they report
+ * afterward is dropped, so every test is reported once.
+ * <p>
+ * With {@code ctrf.watchdog.threshold.ms} set, a {@link HungTestWatchdog} samples the stacks of tests
+ * running longer than the threshold and the samples are attached to their results.
+ * <p>
+ * If the JVM shuts down before the run finished, e.g. when a CI job is cancelled with {@code SIGTERM},
+ * a shutdown hook writes the results collected so far within {@code ctrf.shutdown.timeout.ms}, with the
+ * unfinished tests reported with the raw status {@code interrupted} and {@code partial} set in the summary.
+ * <p>
+ * With {@code ctrf.record.reporter.overhead} set, the time spent in the callbacks and the report phases is
+ * measured with {@link ReporterTimings} and added to the summary as {@code reporterOverhead}.
+ * <p>
+ * With {@code ctrf.jmx.enabled} set, live {@link ReporterMetrics} of the run are registered as a
+ * {@link CtrfReportManagerMxBean} when the run starts, and stay readable after it finished until the next run
+ * of the same session slot replaces them.
+ * <p>
+ * With {@code ctrf.record.test.resources} set, a {@link ThreadResourceMeter} adds the CPU time and the
+ * allocated bytes of every test to its extra data. With {@code ctrf.record.test.contention} set, a
+ * {@link ThreadContentionMeter} adds its blocked and waited counters, and the summary lists the most contended tests.
+ * With {@code ctrf.record.gc.pauses} set, a {@link GcPauseTracker} attributes garbage collection pauses and heap
+ * growth to the tests and adds the run's total pause time to the summary.
+ * <p>
+ * With {@code ctrf.jfr.recording.enabled} set, a {@link SlowTestRecorder} keeps a JFR recording during the run
+ * and attaches the part covering a slow or timed out test to its result. With {@code ctrf.profiler.threshold.ms}
+ * set, a {@link SlowTestProfiler} samples the stacks of tests running longer than the threshold and adds their
+ * profiles to the results.
+ * <p>
+ * With {@code ctrf.record.resource.leaks} set, a {@link ResourceLeakDetector} adds the threads, file descriptors
+ * and buffer memory a test left behind to its extra data, and the summary lists the worst leakers.
+ * With {@code ctrf.resource.timeline.interval.ms} set, a {@link RunResourceSampler} records the load of the
+ * machine and the JVM during the run, which is added to the results as {@code resourceTimeline}.
+ * With {@code ctrf.record.container.limits} set, the {@link CgroupLimits} of the JVM and its CPU throttling
+ * during the run are added to the environment. With {@code ctrf.record.host.fingerprint} set, the
+ * {@link HostFingerprint} of the host and the JVM is collected in the background and added as well.
+ * With {@code ctrf.record.startup.breakdown} set, the summary gets a {@link StartupBreakdown} of the time from
+ * the JVM start to the first test.
+ * <p>
+ * When {@code CtrfDiscoveryListener} timed the {@link LauncherDiscovery} before the run, the summary gets its
+ * engine timings and slowest selectors as {@code discovery}, with the number of discovered containers and tests
+ * when the test plan is known.
+ * <p>
+ * Test starts and results and the report composition are emitted as JFR events, see the {@code jfr} package.
+ * The events are disabled by default and cost next to nothing unless a recording enables them.
+ */
 public final class CtrfReportManager {
 
-    private static final CtrfReportManager INSTANCE = new CtrfReportManager();
+    private static final String INCOMPLETE_STATUS = "incomplete";
+    private static final String EVICTED_STATUS = "evicted";
+    private static final String INTERRUPTED_STATUS = "interrupted";
+    private static final String SHUTDOWN_HOOK_THREAD_NAME = "ctrf-shutdown-hook";
+    private static final String PARTIAL_REPORT_THREAD_NAME = "ctrf-partial-report";
+    private static final TestDetails NOT_STARTED = TestDetails.builder().build();
 
-    private final List<Test> tests = new CopyOnWriteArrayList<>();
-    private final ConcurrentHashMap<String, TestDetails> testDetailsMap = new ConcurrentHashMap<>();
-    private long testRunStartTime;
+    private final AtomicReference<TestRun> currentRun;
+    private volatile TestRun previousRun;
     private final AtomicBoolean isTestRunStarted = new AtomicBoolean(false);
     private String generator;
+    private LauncherDiscovery discovery;
+    private long discoveredContainers = -1;
+    private long discoveredTests = -1;
+    private volatile Thread shutdownHook;
+    private final AtomicReference<Instruments> instruments = new AtomicReference<>();
 
+    private final ConfigReader configReader;
     private final CtrfReportFileService ctrfReportFileService;
     private final TestProcessor testProcessor;
     private final SuiteExecutionErrorHandler suiteExecutionErrorHandler;
     private final CtrfJsonComposer ctrfJsonComposer;
 
-    private CtrfReportManager() {
-        var configReader = new ConfigReader();
-        this.ctrfReportFileService = new CtrfReportFileService(configReader);
-        this.testProcessor = new TestProcessor(configReader);
-        this.suiteExecutionErrorHandler = new SuiteExecutionErrorHandler(testProcessor);
-        this.ctrfJsonComposer = null;
+    private CtrfReportManager(ConfigReader configReader, TestProcessor testProcessor) {
+        this(configReader, new CtrfReportFileService(configReader), testProcessor,
+            new SuiteExecutionErrorHandler(testProcessor), null);
     }
 
     /**
@@ -47,44 +131,197 @@ public final class CtrfReportManager {
                       TestProcessor testProcessor,
                       SuiteExecutionErrorHandler suiteExecutionErrorHandler,
                       CtrfJsonComposer ctrfJsonComposer) {
+        this(new ConfigReader(), ctrfReportFileService, testProcessor, suiteExecutionErrorHandler, ctrfJsonComposer);
+    }
+
+    /**
+     * Package-private constructor for testing purposes, allowing dependency and configuration injection.
+     */
+    CtrfReportManager(ConfigReader configReader,
+                      CtrfReportFileService ctrfReportFileService,
+                      TestProcessor testProcessor,
+                      SuiteExecutionErrorHandler suiteExecutionErrorHandler,
+                      CtrfJsonComposer ctrfJsonComposer) {
+        this.configReader = configReader;
         this.ctrfReportFileService = ctrfReportFileService;
         this.testProcessor = testProcessor;
         this.suiteExecutionErrorHandler = suiteExecutionErrorHandler;
         this.ctrfJsonComposer = ctrfJsonComposer;
+        this.currentRun = new AtomicReference<>(newPendingRun());
+    }
+
+    /**
+     * Creates a report manager for a new launcher session.
+     *
+     * @return a manager with its own, empty test run state
+     */
+    public static CtrfReportManager create() {
+        var configReader = new ConfigReader();
+        return new CtrfReportManager(configReader, new TestProcessor(configReader));
     }
 
-    public static CtrfReportManager getInstance() {
-        return INSTANCE;
+    /**
+     * Returns the optional instruments of the runs, created from the configuration on the first callback.
+     */
+    private Instruments instruments() {
+        var created = instruments.get();
+        if (created == null) {
+            // Creating the instruments has no side effects, a concurrent first callback at worst creates them twice
+            instruments.compareAndSet(null, new Instruments(configReader, () -> currentRun.get().getInFlightTests(),
+                () -> currentRun.get().getEpoch()));
+            created = instruments.get();
+        }
+        return created;
+    }
+
+    /**
+     * Starts measuring a callback of an extension or listener reporting into this manager.
+     *
+     * @return the start timestamp to pass to {@link #stopTiming(String, long)}, or {@code 0} when the
+     *     reporter overhead is not recorded
+     */
+    public long startTiming() {
+        return instruments().timings.start();
+    }
+
+    public void stopTiming(String callback, long startNanos) {
+        instruments().timings.stop(callback, startNanos);
     }
 
     public void onTestStart(TestDetails testDetails) {
+        var instruments = instruments();
         testDetails.setStartTime(System.currentTimeMillis());
-        testDetailsMap.put(testDetails.getUniqueId(), testDetails);
+        testDetails.setThread(Thread.currentThread());
+        ReporterEvents.testStarted(testDetails);
+        if (instruments.startupBreakdown != null) {
+            instruments.startupBreakdown.testStarted(testDetails.getStartTime());
+        }
+        // Taken before the test is published, so a result reported from another thread sees the start values
+        if (instruments.resourceMeter != null) {
+            instruments.resourceMeter.start(testDetails);
+        }
+        if (instruments.contentionMeter != null) {
+            instruments.contentionMeter.start(testDetails);
+        }
+        if (instruments.gcPauseTracker != null) {
+            instruments.gcPauseTracker.testStarted(testDetails);
+        }
+        if (instruments.leakDetector != null) {
+            instruments.leakDetector.start(testDetails);
+        }
+        var evicted = register(testDetails);
+        if (!evicted.isEmpty()) {
+            long evictionTime = System.currentTimeMillis();
+            if (instruments.leakDetector != null) {
+                evicted.forEach(instruments.leakDetector::abandon);
+            }
+            evicted.forEach(details -> record(details.getUniqueId(),
+                run -> testProcessor.createIncompleteTest(details, evictionTime, EVICTED_STATUS)));
+        }
     }
 
     public void onTestSkipped(TestDetails testDetails, Optional<String> reason) {
-        long time = System.currentTimeMillis();
-        testDetails.setStartTime(time);
+        record(testDetails.getDisplayName(), run -> {
+            long time = System.currentTimeMillis();
+            testDetails.setStartTime(time);
+
+            var test = testProcessor.createTest(testDetails.getDisplayName(), testDetails, time);
+            test.setStatus(SKIPPED);
+            reason.ifPresent(test::setMessage);
+            run.getEpoch().recordRun(test);
+            ReporterEvents.testFinished(testDetails, test);
+            return test;
+        });
+    }
 
-        var test = testProcessor.createTest(testDetails.getDisplayName(), testDetails, time);
-        test.setStatus(SKIPPED);
-        reason.ifPresent(test::setMessage);
-        tests.add(test);
+    /**
+     * Adds a started test to the tests in flight of the current run. A run that already closed is replaced, so the
+     * test is registered with the next one.
+     *
+     * @return the tests evicted to stay within {@code ctrf.max.in.flight.tests}
+     */
+    private List<TestDetails> register(TestDetails testDetails) {
+        var evicted = new AtomicReference<List<TestDetails>>();
+        while (true) {
+            var run = currentRun.get();
+            if (run.getEpoch().runIfOpen(() -> evicted.set(run.getInFlightTests().start(testDetails)))) {
+                return evicted.get();
+            }
+            Thread.onSpinWait();
+        }
     }
 
     private void processTestResult(String uniqueId, Optional<Throwable> cause, Test.TestStatus status) {
-        long stopTime = System.currentTimeMillis();
-        TestDetails details = testDetailsMap.remove(uniqueId);
-        if (details == null) {
-            details = TestDetails.builder().displayName("Unknown Test").startTime(stopTime).build();
+        var instruments = instruments();
+        var run = currentRun.get();
+        if (run.getInFlightTests().forgetEvicted(uniqueId)) {
+            System.err.println("Result of test " + uniqueId + " arrived after the test was evicted and is not reported.");
+            return;
         }
+        // A test that is not in flight in the current run was started by a finished run, the previous one reports it
+        var previous = previousRun;
+        var owner = previous == null || run.getInFlightTests().contains(uniqueId) ? run : previous;
+        var outcome = owner.getEpoch().record(() -> {
+            var started = owner.getInFlightTests().finish(uniqueId);
+            return started != null || owner == previous ? started : NOT_STARTED;
+        }, (epoch, started) -> {
+            long stopTime = System.currentTimeMillis();
+            var details = started;
+            if (details == NOT_STARTED) {
+                details = TestDetails.builder().displayName("Unknown Test").startTime(stopTime).build();
+            } else {
+                if (instruments.resourceMeter != null) {
+                    instruments.resourceMeter.finish(details);
+                }
+                if (instruments.contentionMeter != null) {
+                    instruments.contentionMeter.finish(details);
+                }
+                if (instruments.gcPauseTracker != null) {
+                    instruments.gcPauseTracker.testFinished(details);
+                }
+                if (instruments.leakDetector != null) {
+                    instruments.leakDetector.finish(details);
+                }
+            }
 
-        var newTest = testProcessor.createTest(details.getDisplayName(), details, stopTime);
-        newTest.setStatus(status);
-        cause.ifPresent(c -> testProcessor.setFailureDetails(newTest, c));
+            var newTest = testProcessor.createTest(details.getDisplayName(), details, stopTime);
+            newTest.setStatus(status);
+            cause.ifPresent(c -> {
+                long formattingStart = instruments.timings.start();
+                testProcessor.setFailureDetails(newTest, c);
+                instruments.timings.stop("traceFormatting", formattingStart);
+            });
+            if (instruments.slowTestRecorder != null) {
+                instruments.slowTestRecorder.recordIfSlow(details, newTest, cause.orElse(null));
+            }
+            if (instruments.profiler != null) {
+                instruments.profiler.attach(details, newTest);
+            }
 
-        handleRerunsAndFlaky(newTest);
-        tests.add(newTest);
+            handleRerunsAndFlaky(epoch, newTest);
+            ReporterEvents.testFinished(details, newTest);
+            return newTest;
+        });
+        reportIfLate(uniqueId, outcome);
+    }
+
+    private void record(String testId, Function<TestRun, Test> resultFactory) {
+        var run = currentRun.get();
+        // An epoch is replaced before it is closed, so a result that finds it closed belongs to the finished run
+        reportIfLate(testId, run.getEpoch().record(epoch -> resultFactory.apply(run)));
+    }
+
+    private static void reportIfLate(String testId, RunEpoch.Outcome outcome) {
+        if (outcome == RunEpoch.Outcome.LATE) {
+            System.err.println("Result of test " + testId + " arrived after the CTRF report was finalized and is not reported.");
+        }
+    }
+
+    private void countResult(Test test) {
+        var instruments = instruments();
+        if (instruments.metrics != null && test.getStatus() != null) {
+            instruments.metrics.recordResult(test.getStatus());
+        }
     }
 
     public void onTestSuccess(String uniqueId) {
@@ -100,11 +337,85 @@ public final class CtrfReportManager {
     }
 
     public void startTestRun(String generator) {
+        startTestRun(generator, key -> Optional.empty());
+    }
+
+    /**
+     * Starts the test run.
+     *
+     * @param generator               the name of the extension or listener reporting into this manager
+     * @param configurationParameters the JUnit configuration parameters of the run, e.g. for the parallelism
+     *                                in the host fingerprint
+     */
+    public void startTestRun(String generator, Function<String, Optional<String>> configurationParameters) {
+        startTestRun(generator, configurationParameters, null);
+    }
+
+    /**
+     * Starts the test run after the given discovery.
+     *
+     * @param generator               the name of the extension or listener reporting into this manager
+     * @param configurationParameters the JUnit configuration parameters of the run, e.g. for the parallelism
+     *                                in the host fingerprint
+     * @param launcherDiscovery       the discovery of the run's launcher session timed by
+     *                                {@code CtrfDiscoveryListener}, or {@code null}
+     */
+    public void startTestRun(String generator, Function<String, Optional<String>> configurationParameters,
+                             LauncherDiscovery launcherDiscovery) {
+        var instruments = instruments();
         if (isTestRunStarted.compareAndSet(false, true)) {
+            long runStartTime = System.currentTimeMillis();
+            // A discovery finishing after the start is one of a later run of the same session
+            discovery = launcherDiscovery != null && launcherDiscovery.isFinishedBefore(runStartTime) ? launcherDiscovery : null;
+            if (instruments.startupBreakdown != null) {
+                instruments.startupBreakdown.runStarted(runStartTime, discovery);
+            }
             this.generator = generator;
+            instruments.timings.reset();
+            int sessionSlot = ReportSessions.acquire();
+            ctrfReportFileService.bindToSession(sessionSlot);
+            long loadingStart = instruments.timings.start();
             Long existingStartTime = ctrfReportFileService.getExistingStartTime();
-            testRunStartTime = existingStartTime != null ? existingStartTime : System.currentTimeMillis();
-            tests.addAll(ctrfReportFileService.getExistingTests());
+            var run = pendingRun().start(sessionSlot, existingStartTime != null ? existingStartTime : System.currentTimeMillis());
+            currentRun.set(run);
+            ctrfReportFileService.getExistingTests().forEach(run.getEpoch()::add);
+            instruments.timings.stop("previousReportLoading", loadingStart);
+            if (instruments.watchdog != null) {
+                instruments.watchdog.start();
+            }
+            if (instruments.gcPauseTracker != null) {
+                instruments.gcPauseTracker.start();
+            }
+            if (instruments.slowTestRecorder != null) {
+                instruments.slowTestRecorder.start(recordingsDirectory(sessionSlot));
+            }
+            if (instruments.profiler != null) {
+                instruments.profiler.start();
+            }
+            if (instruments.resourceSampler != null) {
+                instruments.resourceSampler.start();
+            }
+            if (instruments.cgroupLimits != null) {
+                instruments.cgroupLimits.start();
+            }
+            if (instruments.hostFingerprint != null) {
+                instruments.hostFingerprint.start(configurationParameters);
+            }
+            if (instruments.metrics != null) {
+                instruments.metrics.register(sessionSlot);
+            }
+            registerShutdownHook();
+        }
+    }
+
+    /**
+     * Records the number of containers and tests of the run's test plan for the discovery summary.
+     * The plan is only counted when the discovery was timed.
+     */
+    public void onTestPlanDiscovered(TestPlan testPlan) {
+        if (discovery != null) {
+            discoveredContainers = testPlan.countTestIdentifiers(TestIdentifier::isContainer);
+            discoveredTests = testPlan.countTestIdentifiers(TestIdentifier::isTest);
         }
     }
 
@@ -112,53 +423,297 @@ public final class CtrfReportManager {
         if (!isTestRunStarted.compareAndSet(true, false)) {
             return;
         }
+        unregisterShutdownHook();
+
+        var run = closeCurrentRun();
+        int lateResults = run.getEpoch().close(configReader.getFinishAwaitTimeoutMs());
 
         long testRunStopTime = System.currentTimeMillis();
+        var testResults = run.getEpoch().snapshot();
 
-        if (tests.isEmpty()) {
+        if (testResults.isEmpty()) {
             contextOpt.ifPresentOrElse(
-                context -> suiteExecutionErrorHandler.handleInitializationError(context, testRunStartTime, testRunStopTime)
-                    .ifPresent(tests::add),
+                context -> suiteExecutionErrorHandler.handleInitializationError(context, run.getStartTime(), testRunStopTime)
+                    .ifPresent(testResults::add),
                 () -> { /* Listener has no context for this, can add a synthetic test if needed */ }
             );
         } else if (contextOpt.flatMap(ExtensionContext::getExecutionException).isPresent()) {
             ExtensionContext context = contextOpt.get();
-            long lastTestStopTime = tests.get(tests.size() - 1).getStop();
-            suiteExecutionErrorHandler.handleExecutionError(context, lastTestStopTime, testRunStopTime).ifPresent(tests::add);
+            long lastTestStopTime = testResults.get(testResults.size() - 1).getStop();
+            suiteExecutionErrorHandler.handleExecutionError(context, lastTestStopTime, testRunStopTime).ifPresent(testResults::add);
+        }
+
+        writeReport(run, testResults, testRunStopTime, lateResults, INCOMPLETE_STATUS, false);
+    }
+
+    /**
+     * Writes the results collected so far when the JVM shuts down before the run finished normally.
+     * <p>
+     * The report is written on a separate daemon thread, and this method returns once it is written or
+     * {@code ctrf.shutdown.timeout.ms} elapsed, whichever comes first, so a cancelled CI job is not delayed
+     * beyond the budget.
+     */
+    void writePartialReport() {
+        long budget = configReader.getShutdownTimeoutMs();
+        var writer = new Thread(this::finishInterruptedRun, PARTIAL_REPORT_THREAD_NAME);
+        writer.setDaemon(true);
+        writer.start();
+        try {
+            writer.join(budget);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Partial CTRF report was not written within " + budget + " ms of the JVM shutdown.");
+        }
+    }
+
+    /**
+     * Fast path of {@link #finishTestRun(Optional)} for an interrupted run: in-flight callbacks get a tenth of
+     * the budget, suite-level errors are not analyzed, unfinished tests are reported as {@code interrupted}
+     * and traces are capped at {@code ctrf.max.message.length}. Previous reports were merged when the run
+     * started, so the files are not read again.
+     */
+    private void finishInterruptedRun() {
+        if (!isTestRunStarted.compareAndSet(true, false)) {
+            return;
+        }
+        var run = closeCurrentRun();
+        int lateResults = run.getEpoch().close(configReader.getShutdownTimeoutMs() / 10);
+
+        long testRunStopTime = System.currentTimeMillis();
+        var testResults = run.getEpoch().snapshot();
+        testResults.forEach(testProcessor::capTrace);
+
+        writeReport(run, testResults, testRunStopTime, lateResults, INTERRUPTED_STATUS, true);
+    }
+
+    private TestRun closeCurrentRun() {
+        var instruments = instruments();
+        if (instruments.watchdog != null) {
+            instruments.watchdog.stop();
+        }
+        if (instruments.gcPauseTracker != null) {
+            instruments.gcPauseTracker.stop();
+        }
+        if (instruments.slowTestRecorder != null) {
+            instruments.slowTestRecorder.stop();
+        }
+        if (instruments.profiler != null) {
+            instruments.profiler.stop();
+        }
+        if (instruments.resourceSampler != null) {
+            instruments.resourceSampler.stop();
+        }
+        var finished = currentRun.get();
+        // Published before the swap, so a callback that sees the new run also finds the finished one
+        previousRun = finished;
+        currentRun.set(newPendingRun());
+        return finished;
+    }
+
+    /**
+     * Creates the run collecting results until the next run starts. Only results that are actually recorded count
+     * in the live metrics, late ones do not.
+     */
+    private TestRun newPendingRun() {
+        return TestRun.pending(configReader.getMaxInFlightTests(), this::countResult);
+    }
+
+    /**
+     * Returns the run collecting results until the next run starts. The previous run of a reused manager may
+     * still be swapping out its state right after it cleared the started flag.
+     */
+    private TestRun pendingRun() {
+        var run = currentRun.get();
+        while (run.isStarted()) {
+            Thread.onSpinWait();
+            run = currentRun.get();
+        }
+        return run;
+    }
+
+    private void writeReport(TestRun run, List<Test> testResults, long testRunStopTime, int lateResults, String unfinishedStatus,
+                             boolean partial) {
+        var instruments = instruments();
+        for (TestDetails details : run.getInFlightTests().drain()) {
+            var incompleteTest = testProcessor.createIncompleteTest(details, testRunStopTime, unfinishedStatus);
+            // The test never reports a result, so it must not keep the next run from measuring tests running alone
+            if (instruments.leakDetector != null) {
+                instruments.leakDetector.abandon(details);
+            }
+            if (instruments.profiler != null) {
+                instruments.profiler.attach(details, incompleteTest);
+            }
+            testResults.add(incompleteTest);
         }
 
         var composer = this.ctrfJsonComposer;
         if (composer == null) {
-            var configReader = new ConfigReader();
             var startupProcessor = new StartupDurationProcessor();
-            composer = new CtrfJsonComposer(configReader, startupProcessor, this.generator);
+            // A partial report is written on shutdown, which must not wait for the fingerprint
+            composer = new CtrfJsonComposer(configReader, startupProcessor, this.generator, instruments.cgroupLimits,
+                instruments.hostFingerprint, !partial);
         }
 
-        var summary = SummaryUtil.createSummary(tests, testRunStartTime, testRunStopTime);
-        var ctrfJson = composer.generateCtrfJson(summary, tests);
+        var summary = SummaryUtil.createSummary(testResults, run.getStartTime(), testRunStopTime);
+        var mostContendedTests = instruments.contentionMeter != null
+            ? ThreadContentionMeter.mostContendedTests(testResults, configReader.getContentionTopTests())
+            : List.<Map<String, Object>>of();
+        var worstLeakers = instruments.leakDetector != null
+            ? instruments.leakDetector.worstLeakers(testResults, configReader.getLeakTopEntries())
+            : List.<Map<String, Object>>of();
+        var summaryExtra = Extra.builder()
+            .lateResults(lateResults > 0 ? lateResults : null)
+            .partial(partial ? Boolean.TRUE : null)
+            .mostContendedTests(!mostContendedTests.isEmpty() ? mostContendedTests : null)
+            .worstLeakers(!worstLeakers.isEmpty() ? worstLeakers : null)
+            .startupBreakdown(instruments.startupBreakdown != null ? instruments.startupBreakdown.describe() : null)
+            .discovery(discovery != null ? describeDiscovery() : null)
+            .build();
+        if (instruments.gcPauseTracker != null) {
+            instruments.gcPauseTracker.summarize(summaryExtra, testRunStopTime);
+        }
+        if (!summaryExtra.equals(new Extra())) {
+            summary.setExtra(summaryExtra);
+        }
+        long compositionStart = instruments.timings.start();
+        var composePhase = ReporterEvents.beginPhase(ReportPhaseEvent.COMPOSE);
+        var ctrfJson = composer.generateCtrfJson(summary, testResults);
+        if (instruments.resourceSampler != null && ctrfJson.getResults() != null) {
+            ctrfJson.getResults().setExtra(Extra.builder().resourceTimeline(instruments.resourceSampler.describe()).build());
+        }
+        composePhase.finish(testResults.size(), 0);
+        instruments.timings.stop("composition", compositionStart);
+        if (instruments.timings.isEnabled()) {
+            addReporterOverhead(summary);
+        }
 
+        long writeStart = System.nanoTime();
         ctrfReportFileService.writeResultsToFile(ctrfJson);
-        tests.clear();
+        if (instruments.metrics != null) {
+            instruments.metrics.recordWriteLatency(System.nanoTime() - writeStart);
+        }
+        // Serializing and writing the report it is part of cannot be measured in it, the next run reports it
+        instruments.timings.stop("reportWrite", writeStart);
+        run.getEpoch().discardResults();
+        ReportSessions.release(run.getSessionSlot());
+    }
+
+    private Map<String, Object> describeDiscovery() {
+        var description = discovery.describe(configReader.getDiscoveryTopSelectors());
+        if (discoveredTests >= 0) {
+            description.put("containers", discoveredContainers);
+            description.put("tests", discoveredTests);
+        }
+        return description;
+    }
+
+    /**
+     * Adds the measurements to the summary. Writing the report file, and the callback finishing the run, end after
+     * the report is serialized, so they are reported with the next run, see {@link ReporterTimings}.
+     */
+    private void addReporterOverhead(Summary summary) {
+        var extra = summary.getExtra();
+        if (extra == null) {
+            extra = new Extra();
+            summary.setExtra(extra);
+        }
+        extra.setReporterOverhead(instruments().timings.snapshot());
+    }
+
+    /**
+     * Returns the directory next to the session's report file for the recordings of slow tests,
+     * e.g. {@code build/ctrf-report-jfr} for {@code build/ctrf-report.json}.
+     */
+    private Path recordingsDirectory(int sessionSlot) {
+        var reportPath = Path.of(ReportSessions.resolveReportPath(configReader.getReportPath(), configReader.getSessionId(),
+            sessionSlot));
+        var fileName = reportPath.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        var directoryName = (extension > 0 ? fileName.substring(0, extension) : fileName) + "-jfr";
+        return reportPath.resolveSibling(directoryName);
     }
 
-    private void handleRerunsAndFlaky(Test newTest) {
-        var previousTests = findTestsByName(newTest.getName());
-        if (!previousTests.isEmpty()) {
-            newTest.setRetries(previousTests.size());
+    private void registerShutdownHook() {
+        if (configReader.getShutdownTimeoutMs() <= 0) {
+            return;
+        }
+        var hook = new Thread(this::writePartialReport, SHUTDOWN_HOOK_THREAD_NAME);
+        try {
+            Runtime.getRuntime().addShutdownHook(hook);
+            shutdownHook = hook;
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down
         }
+    }
 
-        if (PASSED.equals(newTest.getStatus())) {
-            boolean hadPreviousFailures = previousTests.stream()
-                .anyMatch(t -> FAILED.equals(t.getStatus()));
-            if (hadPreviousFailures || (newTest.getRetries() != null && newTest.getRetries() > 0)) {
+    private void unregisterShutdownHook() {
+        var hook = shutdownHook;
+        shutdownHook = null;
+        if (hook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down, the hook finds the run finished
+            }
+        }
+    }
+
+    private void handleRerunsAndFlaky(RunEpoch epoch, Test newTest) {
+        int previousRuns = epoch.recordRun(newTest);
+        if (previousRuns > 0) {
+            newTest.setRetries(previousRuns);
+            if (PASSED.equals(newTest.getStatus())) {
                 newTest.setFlaky(true);
             }
         }
     }
 
-    private List<Test> findTestsByName(String name) {
-        return tests.stream()
-            .filter(t -> t.getName() != null && t.getName().equals(name))
-            .collect(Collectors.toList());
+    /**
+     * The optional instruments enabled in the configuration. Their flags are read once, when the first callback
+     * needs them, instead of when the manager is created.
+     */
+    private static final class Instruments {
+
+        private final ReporterTimings timings;
+        private final ReporterMetrics metrics;
+        private final ThreadResourceMeter resourceMeter;
+        private final ThreadContentionMeter contentionMeter;
+        private final GcPauseTracker gcPauseTracker;
+        private final ResourceLeakDetector leakDetector;
+        private final RunResourceSampler resourceSampler;
+        private final CgroupLimits cgroupLimits;
+        private final HostFingerprint hostFingerprint;
+        private final StartupBreakdown startupBreakdown;
+        private final SlowTestRecorder slowTestRecorder;
+        private final HungTestWatchdog watchdog;
+        private final SlowTestProfiler profiler;
+
+        Instruments(ConfigReader configReader, Supplier<InFlightTests> inFlightTests, Supplier<RunEpoch> currentEpoch) {
+            this.timings = new ReporterTimings(configReader.recordReporterOverhead());
+            this.metrics = configReader.isJmxEnabled() ? new ReporterMetrics(inFlightTests, currentEpoch) : null;
+            this.resourceMeter = configReader.recordTestResources() ? new ThreadResourceMeter() : null;
+            this.contentionMeter = configReader.recordTestContention() ? new ThreadContentionMeter() : null;
+            this.gcPauseTracker = configReader.recordGcPauses() ? new GcPauseTracker(inFlightTests) : null;
+            this.leakDetector = configReader.recordResourceLeaks() ? new ResourceLeakDetector() : null;
+            this.resourceSampler = configReader.getResourceTimelineIntervalMs() > 0
+                ? new RunResourceSampler(configReader.getResourceTimelineIntervalMs())
+                : null;
+            this.cgroupLimits = configReader.recordContainerLimits() ? new CgroupLimits() : null;
+            this.hostFingerprint = configReader.recordHostFingerprint() ? new HostFingerprint() : null;
+            this.startupBreakdown = configReader.recordStartupBreakdown() ? new StartupBreakdown() : null;
+            this.slowTestRecorder = configReader.isJfrRecordingEnabled()
+                ? new SlowTestRecorder(configReader.getJfrSlowTestThresholdMs(), configReader.getJfrMaxSizeMb() * 1024 * 1024)
+                : null;
+            this.watchdog = configReader.getWatchdogThresholdMs() > 0
+                ? new HungTestWatchdog(inFlightTests, configReader.getWatchdogThresholdMs(),
+                    configReader.getWatchdogSampleIntervalMs(), configReader.getWatchdogMaxSamples())
+                : null;
+            this.profiler = configReader.getProfilerThresholdMs() > 0
+                ? new SlowTestProfiler(inFlightTests, configReader.getProfilerThresholdMs(),
+                    configReader.getProfilerIntervalMs(), configReader.getProfilerTopFrames())
+                : null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package io.github.alexshamrai;
+
+import javax.management.MXBean;
+
+/**
+ * Live metrics of a {@link CtrfReportManager}, registered in the platform MBean server when
+ * {@code ctrf.jmx.enabled} is set.
+ * <p>
+ * The MBean is registered as {@code io.github.alexshamrai:type=CtrfReportManager,session=<n>}, where
+ * {@code n} is the report session slot, and stays registered after the run finished until the next run of the
+ * same slot replaces it. Reading an attribute never takes a lock that test threads contend on.
+ */
+@MXBean
+public interface CtrfReportManagerMxBean {
+
+    long getPassedTests();
+
+    long getFailedTests();
+
+    long getSkippedTests();
+
+    long getOtherTests();
+
+    /**
+     * Returns the number of tests that were started and have not reported a result yet.
+     */
+    int getInFlightTests();
+
+    /**
+     * Returns how long the oldest in-flight test has been running, in milliseconds, or {@code 0} if none is.
+     */
+    long getOldestInFlightTestAgeMs();
+
+    /**
+     * Returns the rate of reported results over the last complete seconds of the sliding window.
+     */
+    double getResultsPerSecond();
+
+    /**
+     * Returns the number of results buffered for the report, including those of previous reports.
+     */
+    int getBufferedResults();
+
+    /**
+     * Returns how long writing the last report took, in milliseconds, or {@code -1} if none was written yet.
+     */
+    long getLastWriteLatencyMs();
+}
@@ -0,0 +1,166 @@
+package io.github.alexshamrai;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.model.TestDetails;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Attributes garbage collection pauses to the tests that were running while they happened.
+ * <p>
+ * The tracker listens to the notifications of the garbage collector MBeans during the run. Every pause is added
+ * to the tests in flight when its notification arrives that started before the pause ended, with the part of the
+ * pause after the test's start. Concurrent collector cycles, which do not stop the test threads, are ignored.
+ * <p>
+ * The attribution per test is approximate. Notifications are delivered asynchronously, shortly after the pause,
+ * so a test that finished in between does not get the pause attributed. The pause times are JVM uptime and are
+ * compared with the tests' wall clock start times, so an adjustment of the system clock during the run shifts
+ * them. The totals of the run count every pause.
+ * <p>
+ * The share of the pauses is taken of the run's test time, the time with at least one test in flight, so idle
+ * time in the run, e.g. before the first test or between test classes, does not dilute it. The pauses outside the
+ * test time count as well, so the share can exceed what the tests actually lost.
+ * <p>
+ * The JVM-wide used heap is read at the start and the result of every test, and its change is reported as the
+ * test's heap growth. It includes the allocations of tests running in parallel and the effect of collections.
+ */
+final class GcPauseTracker implements NotificationListener {
+
+    private static final int SINCE_BITS = 42;
+    private static final long SINCE_MASK = (1L << SINCE_BITS) - 1;
+
+    private final Supplier<InFlightTests> inFlightTests;
+    private final MemoryMXBean memoryMxBean = ManagementFactory.getMemoryMXBean();
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    // Started and stopped from the threads starting and finishing the runs
+    private final List<NotificationEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicLong totalPauseMs = new AtomicLong();
+    private final AtomicLong totalPauses = new AtomicLong();
+    // Packs the number of tests in flight in the upper bits and, while there is one, the time since the first of
+    // them started in the lower bits, relative to the run start, so both change in one CAS
+    private final AtomicLong testsInFlight = new AtomicLong();
+    private final AtomicLong testTimeMs = new AtomicLong();
+    private volatile long runStartTime;
+
+    GcPauseTracker(Supplier<InFlightTests> inFlightTests) {
+        this.inFlightTests = inFlightTests;
+    }
+
+    /**
+     * Starts listening for pauses, counting the totals of a new run from zero.
+     */
+    void start() {
+        totalPauseMs.set(0);
+        totalPauses.set(0);
+        testsInFlight.set(0);
+        testTimeMs.set(0);
+        runStartTime = System.currentTimeMillis();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter && !isConcurrent(collector.getName())) {
+                var emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    void testStarted(TestDetails details) {
+        details.setStartHeapUsedBytes(memoryMxBean.getHeapMemoryUsage().getUsed());
+        long now = Math.max(System.currentTimeMillis() - runStartTime, 0);
+        long state;
+        long updated;
+        do {
+            state = testsInFlight.get();
+            long tests = state >>> SINCE_BITS;
+            updated = (tests + 1) << SINCE_BITS | (tests == 0 ? now & SINCE_MASK : state & SINCE_MASK);
+        } while (!testsInFlight.compareAndSet(state, updated));
+    }
+
+    void testFinished(TestDetails details) {
+        if (details.getStartHeapUsedBytes() >= 0) {
+            details.setHeapUsedDeltaBytes(memoryMxBean.getHeapMemoryUsage().getUsed() - details.getStartHeapUsedBytes());
+        }
+        long now = Math.max(System.currentTimeMillis() - runStartTime, 0);
+        long state;
+        long tests;
+        do {
+            state = testsInFlight.get();
+            tests = state >>> SINCE_BITS;
+            if (tests == 0) {
+                // Started before the run
+                return;
+            }
+        } while (!testsInFlight.compareAndSet(state, tests == 1 ? 0 : (tests - 1) << SINCE_BITS | state & SINCE_MASK));
+        if (tests == 1) {
+            testTimeMs.addAndGet(Math.max(now - (state & SINCE_MASK), 0));
+        }
+    }
+
+    /**
+     * Returns the time of the run with at least one test in flight, up to the given time.
+     */
+    long testTimeMs(long stopTime) {
+        long state = testsInFlight.get();
+        long open = state >>> SINCE_BITS > 0 ? Math.max(stopTime - runStartTime - (state & SINCE_MASK), 0) : 0;
+        return testTimeMs.get() + open;
+    }
+
+    /**
+     * Adds the total pause time and count of the run and their share of the run's test time to the summary extra.
+     */
+    void summarize(Extra extra, long stopTime) {
+        long pauseMs = totalPauseMs.get();
+        long testTime = testTimeMs(stopTime);
+        extra.setGcCount(totalPauses.get());
+        extra.setGcPauseMs(pauseMs);
+        extra.setGcPauseTestTimePercent(testTime > 0 ? Math.round(pauseMs * 10_000.0 / testTime) / 100.0 : null);
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        var gcInfo = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+        long pauseStart = jvmStartTime + gcInfo.getStartTime();
+        long pauseEnd = jvmStartTime + gcInfo.getEndTime();
+        totalPauseMs.addAndGet(gcInfo.getDuration());
+        totalPauses.incrementAndGet();
+
+        for (TestDetails details : inFlightTests.get().view()) {
+            if (details.getStartTime() <= pauseEnd) {
+                // Notifications arrive one at a time, so this is the only thread updating the counters
+                details.setGcPauseMs(details.getGcPauseMs() + pauseEnd - Math.max(pauseStart, details.getStartTime()));
+                details.setGcCount(details.getGcCount() + 1);
+            }
+        }
+    }
+
+    private static boolean isConcurrent(String collectorName) {
+        // e.g. "G1 Concurrent GC" or "ZGC Cycles", next to "ZGC Pauses"
+        return collectorName.contains("Concurrent") || collectorName.contains("Cycles");
+    }
+}
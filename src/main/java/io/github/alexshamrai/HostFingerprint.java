@@ -0,0 +1,260 @@
+package io.github.alexshamrai;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Collects the facts about the host and the JVM that durations depend on, so runs on different runners can be
+ * compared: the CPU model and cores, the JVM, its garbage collector, heap and JIT settings, whether it runs in
+ * a container, and the JUnit parallelism in effect.
+ * <p>
+ * The facts are collected once per run on a daemon thread started with the run, so reading {@code /proc} and
+ * the JVM flags never delays a test. The report waits for the collection for at most a second, a partial report
+ * written on shutdown does not wait at all.
+ */
+final class HostFingerprint {
+
+    private static final String THREAD_NAME = "ctrf-host-fingerprint";
+    private static final long COLLECTION_TIMEOUT_MS = 1_000;
+    private static final String PARALLEL_PREFIX = "junit.jupiter.execution.parallel.";
+    private static final String[] PARALLEL_PARAMETERS = {"enabled", "mode.default", "mode.classes.default",
+        "config.strategy", "config.fixed.parallelism", "config.dynamic.factor"};
+    private static final String[] GC_FLAGS = {"UseSerialGC", "UseParallelGC", "UseG1GC", "UseZGC", "UseShenandoahGC", "UseEpsilonGC"};
+    private static final String[] JIT_FLAGS = {"TieredCompilation", "TieredStopAtLevel", "CICompilerCount", "UseJVMCICompiler"};
+
+    private final Path root;
+    private volatile FutureTask<Map<String, Object>> collection;
+
+    HostFingerprint() {
+        this(Path.of("/"));
+    }
+
+    /**
+     * Package-private constructor for testing purposes, reading {@code proc} and the container markers below
+     * the given root.
+     */
+    HostFingerprint(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Starts collecting the fingerprint in the background.
+     *
+     * @param configurationParameters the JUnit configuration parameters of the run
+     */
+    void start(Function<String, Optional<String>> configurationParameters) {
+        var task = new FutureTask<>(() -> collect(configurationParameters));
+        var thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        collection = task;
+        thread.start();
+    }
+
+    /**
+     * Returns the collected fingerprint, or {@code null} if it was not started or could not be collected in time.
+     *
+     * @param wait whether to wait up to a second for a collection in progress, or to return {@code null} right away
+     */
+    Map<String, Object> describe(boolean wait) {
+        var task = collection;
+        if (task == null || !wait && !task.isDone()) {
+            return null;
+        }
+        try {
+            return task.get(COLLECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Failed to collect the host fingerprint - " + e);
+        }
+        return null;
+    }
+
+    Map<String, Object> collect(Function<String, Optional<String>> configurationParameters) {
+        var fingerprint = new LinkedHashMap<String, Object>();
+        describeCpu(fingerprint);
+        describeJvmResources(fingerprint);
+        fingerprint.put("osArch", System.getProperty("os.arch"));
+        fingerprint.put("jvmVendor", System.getProperty("java.vm.vendor"));
+        fingerprint.put("jvmName", System.getProperty("java.vm.name"));
+        fingerprint.put("jvmVersion", System.getProperty("java.vm.version"));
+        describeJvmFlags(fingerprint);
+        fingerprint.put("initialHeapBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getInit());
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        fingerprint.put("jitCompiler", compiler != null ? compiler.getName() : "none");
+        fingerprint.put("jvmArguments", jvmArguments());
+        var container = container();
+        if (container != null) {
+            fingerprint.put("container", container);
+        }
+        fingerprint.put("junitParallelism", junitParallelism(configurationParameters));
+        return fingerprint;
+    }
+
+    /**
+     * Adds the processors, the maximum heap and the garbage collectors the JVM sees, which are also part of the
+     * {@link CgroupLimits}.
+     */
+    static void describeJvmResources(Map<String, Object> description) {
+        description.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        description.put("maxHeapBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax());
+        var collectors = new ArrayList<String>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(collector.getName());
+        }
+        description.put("garbageCollectors", collectors);
+    }
+
+    private void describeCpu(Map<String, Object> fingerprint) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(root.resolve("proc/cpuinfo"));
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux
+            return;
+        }
+        String model = null;
+        String physicalId = "0";
+        Set<String> cores = new HashSet<>();
+        for (String line : lines) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            var key = line.substring(0, colon).trim();
+            var value = line.substring(colon + 1).trim();
+            if (model == null && (key.equals("model name") || key.equals("Model") || key.equals("Hardware"))) {
+                model = value;
+            } else if (key.equals("physical id")) {
+                physicalId = value;
+            } else if (key.equals("core id")) {
+                cores.add(physicalId + ":" + value);
+            }
+        }
+        if (model != null) {
+            fingerprint.put("cpuModel", model);
+        }
+        if (!cores.isEmpty()) {
+            fingerprint.put("cpuCores", cores.size());
+        }
+    }
+
+    private static void describeJvmFlags(Map<String, Object> fingerprint) {
+        HotSpotDiagnosticMXBean diagnostics;
+        try {
+            diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        } catch (IllegalArgumentException e) {
+            // Not a HotSpot JVM
+            return;
+        }
+        if (diagnostics == null) {
+            return;
+        }
+        for (String flag : GC_FLAGS) {
+            if ("true".equals(vmOption(diagnostics, flag))) {
+                fingerprint.put("gc", flag.substring("Use".length(), flag.length() - "GC".length()));
+            }
+        }
+        var jitFlags = new LinkedHashMap<String, Object>();
+        for (String flag : JIT_FLAGS) {
+            var value = vmOption(diagnostics, flag);
+            if (value != null) {
+                jitFlags.put(flag, value);
+            }
+        }
+        fingerprint.put("jitFlags", jitFlags);
+    }
+
+    private static String vmOption(HotSpotDiagnosticMXBean diagnostics, String name) {
+        try {
+            return diagnostics.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            // Unknown in this JVM version
+            return null;
+        }
+    }
+
+    /**
+     * Returns the {@code -X} options of the JVM, which hold the heap, GC and JIT settings. System properties
+     * are left out, as they may contain secrets.
+     */
+    private static List<String> jvmArguments() {
+        var arguments = new ArrayList<String>();
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-X")) {
+                arguments.add(argument);
+            }
+        }
+        return arguments;
+    }
+
+    private String container() {
+        if (System.getenv("KUBERNETES_SERVICE_HOST") != null) {
+            return "kubernetes";
+        }
+        if (Files.exists(root.resolve(".dockerenv"))) {
+            return "docker";
+        }
+        if (Files.exists(root.resolve("run/.containerenv"))) {
+            return "podman";
+        }
+        String cgroups;
+        try {
+            cgroups = Files.readString(root.resolve("proc/1/cgroup"));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        for (String runtime : new String[] {"kubepods", "docker", "containerd", "lxc"}) {
+            if (cgroups.contains(runtime)) {
+                return runtime.equals("kubepods") ? "kubernetes" : runtime;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the parallel execution parameters that are set, without the {@code junit.jupiter.execution.parallel.}
+     * prefix, and the resulting parallelism of the built-in strategies when parallel execution is enabled.
+     */
+    private static Map<String, Object> junitParallelism(Function<String, Optional<String>> configurationParameters) {
+        var parallelism = new LinkedHashMap<String, Object>();
+        for (String parameter : PARALLEL_PARAMETERS) {
+            configurationParameters.apply(PARALLEL_PREFIX + parameter).ifPresent(value -> parallelism.put(parameter, value));
+        }
+        boolean enabled = Boolean.parseBoolean((String) parallelism.get("enabled"));
+        parallelism.put("enabled", enabled);
+        if (!enabled) {
+            return parallelism;
+        }
+        var strategy = (String) parallelism.getOrDefault("config.strategy", "dynamic");
+        try {
+            if (strategy.equalsIgnoreCase("fixed")) {
+                parallelism.put("parallelism", Integer.parseInt((String) parallelism.get("config.fixed.parallelism")));
+            } else if (strategy.equalsIgnoreCase("dynamic")) {
+                double factor = Double.parseDouble((String) parallelism.getOrDefault("config.dynamic.factor", "1"));
+                parallelism.put("parallelism", Math.max(1, (int) (factor * Runtime.getRuntime().availableProcessors())));
+            }
+        } catch (NumberFormatException e) {
+            // Invalid settings are reported as they are, JUnit rejects them itself
+        }
+        return parallelism;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+import io.github.alexshamrai.util.ThreadUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Samples the stacks of tests that run longer than a threshold.
+ * <p>
+ * A single daemon thread inspects the in-flight tests and then sleeps until the earliest moment one of them
+ * can cross the threshold or is due for its next sample. While no test is near the threshold it therefore
+ * wakes up at most once per threshold and never touches the test threads.
+ * <p>
+ * A stalled test gets up to {@code maxSamples} stack samples, {@code sampleIntervalMillis} apart, which are
+ * attached to its result. The first sample is also printed to {@code System.err}, so a stall record survives
+ * even when the JVM is killed before the report is written.
+ */
+final class HungTestWatchdog {
+
+    private static final int MAX_STACK_DEPTH = 64;
+    private static final String THREAD_NAME = "ctrf-hung-test-watchdog";
+
+    private final Supplier<InFlightTests> inFlightTests;
+    private final long thresholdMillis;
+    private final long sampleIntervalMillis;
+    private final int maxSamples;
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    private final PeriodicSampler sampler = new PeriodicSampler(THREAD_NAME, this::inspect);
+
+    HungTestWatchdog(Supplier<InFlightTests> inFlightTests, long thresholdMillis, long sampleIntervalMillis, int maxSamples) {
+        this.inFlightTests = inFlightTests;
+        this.thresholdMillis = thresholdMillis;
+        this.sampleIntervalMillis = Math.max(sampleIntervalMillis, 1);
+        this.maxSamples = Math.max(maxSamples, 1);
+    }
+
+    void start() {
+        sampler.start();
+    }
+
+    void stop() {
+        sampler.stop();
+    }
+
+    /**
+     * Samples every in-flight test that is due for a sample.
+     *
+     * @param now the current time in milliseconds
+     * @return the time of the next inspection, i.e. the earliest threshold crossing or sample due date
+     */
+    long inspect(long now) {
+        long nextCheck = now + thresholdMillis;
+        for (TestDetails details : inFlightTests.get().view()) {
+            long thresholdTime = details.getStartTime() + thresholdMillis;
+            if (now < thresholdTime) {
+                nextCheck = Math.min(nextCheck, thresholdTime);
+                continue;
+            }
+            var samples = details.getStallSamples();
+            int taken = samples != null ? samples.size() : 0;
+            if (taken >= maxSamples) {
+                continue;
+            }
+            long dueTime = thresholdTime + taken * sampleIntervalMillis;
+            if (now >= dueTime) {
+                sample(details, now - details.getStartTime());
+                taken++;
+                dueTime += sampleIntervalMillis;
+            }
+            if (taken < maxSamples) {
+                nextCheck = Math.min(nextCheck, dueTime);
+            }
+        }
+        return nextCheck;
+    }
+
+    private void sample(TestDetails details, long stalledMillis) {
+        var thread = details.getThread();
+        if (thread == null || !thread.isAlive()) {
+            return;
+        }
+        var stack = captureStack(thread, stalledMillis);
+        List<String> samples = details.getStallSamples();
+        if (samples == null) {
+            samples = new CopyOnWriteArrayList<>();
+            details.setStallSamples(samples);
+            System.err.println("Test " + details.getDisplayName() + " (" + details.getUniqueId() + ") is stalled. " + stack);
+        }
+        samples.add(stack);
+    }
+
+    @SuppressWarnings("deprecation")
+    private String captureStack(Thread thread, long stalledMillis) {
+        // ThreadMXBean does not see virtual threads, they are sampled through the Thread itself
+        ThreadInfo info = ThreadUtil.isVirtual(thread) ? null : threadMxBean.getThreadInfo(thread.getId(), MAX_STACK_DEPTH);
+        var state = info != null ? info.getThreadState() : thread.getState();
+        var stackTrace = info != null ? info.getStackTrace() : thread.getStackTrace();
+
+        var sb = new StringBuilder()
+            .append("Running for ").append(stalledMillis).append(" ms on thread \"")
+            .append(ThreadUtil.describe(thread)).append("\" ").append(state);
+        if (info != null && info.getLockName() != null) {
+            sb.append(" on ").append(info.getLockName());
+            if (info.getLockOwnerName() != null) {
+                sb.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+            }
+        }
+        int depth = Math.min(stackTrace.length, MAX_STACK_DEPTH);
+        for (int i = 0; i < depth; i++) {
+            sb.append("\n\tat ").append(stackTrace[i]);
+        }
+        if (stackTrace.length > depth) {
+            sb.append("\n\t...");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests that were started but have not reported a result yet, keyed by their unique id.
+ * <p>
+ * Each entry keeps the start timestamp from {@link TestDetails#getStartTime()}. When a capacity is set,
+ * starting a test beyond it evicts the oldest entries, so tests that never finish cannot grow the map
+ * without bound in long-lived JVMs. The ids of the last evicted tests, up to the capacity, are remembered,
+ * so the result of an evicted test that finishes after all is recognized instead of being reported twice.
+ */
+final class InFlightTests {
+
+    private final ConcurrentHashMap<String, TestDetails> tests = new ConcurrentHashMap<>();
+    private final Set<String> evictedIds = ConcurrentHashMap.newKeySet();
+    private final Queue<String> evictionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rememberedEvictions = new AtomicInteger();
+    private final int capacity;
+
+    /**
+     * Creates the in-flight test registry.
+     *
+     * @param capacity the maximum number of in-flight tests, or {@code 0} for no limit
+     */
+    InFlightTests(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    /**
+     * Registers a started test.
+     *
+     * @return the oldest tests evicted to stay within the capacity, usually none
+     */
+    List<TestDetails> start(TestDetails details) {
+        tests.put(details.getUniqueId(), details);
+        if (capacity > 0 && tests.size() > capacity) {
+            return evictOldest(tests.size() - capacity);
+        }
+        return List.of();
+    }
+
+    /**
+     * Removes a test that reported its result.
+     *
+     * @return the details of the test, or {@code null} if it is unknown or was evicted
+     */
+    TestDetails finish(String uniqueId) {
+        return tests.remove(uniqueId);
+    }
+
+    boolean contains(String uniqueId) {
+        return tests.containsKey(uniqueId);
+    }
+
+    /**
+     * Forgets a test that was evicted before it reported its result.
+     *
+     * @return {@code true} if the test was evicted and its result is already reported
+     */
+    boolean forgetEvicted(String uniqueId) {
+        return evictedIds.remove(uniqueId);
+    }
+
+    /**
+     * Removes and returns all tests that are still in flight, oldest first.
+     */
+    List<TestDetails> drain() {
+        var drained = new ArrayList<TestDetails>();
+        for (String uniqueId : tests.keySet()) {
+            var details = tests.remove(uniqueId);
+            if (details != null) {
+                drained.add(details);
+            }
+        }
+        drained.sort(Comparator.comparingLong(TestDetails::getStartTime));
+        return drained;
+    }
+
+    /**
+     * Returns a live, read-only view of the tests that are in flight.
+     */
+    Collection<TestDetails> view() {
+        return Collections.unmodifiableCollection(tests.values());
+    }
+
+    int size() {
+        return tests.size();
+    }
+
+    private List<TestDetails> evictOldest(int count) {
+        var candidates = new ArrayList<>(tests.values());
+        candidates.sort(Comparator.comparingLong(TestDetails::getStartTime));
+
+        var evicted = new ArrayList<TestDetails>(count);
+        for (TestDetails details : candidates) {
+            if (evicted.size() >= count) {
+                break;
+            }
+            // Another thread may have finished or evicted the test in the meantime
+            if (tests.remove(details.getUniqueId(), details)) {
+                evicted.add(details);
+                rememberEvicted(details.getUniqueId());
+            }
+        }
+        return evicted;
+    }
+
+    private void rememberEvicted(String uniqueId) {
+        if (evictedIds.add(uniqueId)) {
+            evictionOrder.add(uniqueId);
+            // Ids that were already forgotten are dropped from the queue here as well
+            if (rememberedEvictions.incrementAndGet() > capacity) {
+                var oldest = evictionOrder.poll();
+                rememberedEvictions.decrementAndGet();
+                if (oldest != null) {
+                    evictedIds.remove(oldest);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.alexshamrai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Runs a sampling task on a daemon thread while a run is in progress.
+ * <p>
+ * The task gets the current time and returns when it wants to run next, and the thread parks until then, so a
+ * sampler with nothing to do wakes up only as often as its task asks for. Stopping unparks the thread, which
+ * ends without running the task again. A sampler started again gets a new thread; a thread of a previous start
+ * that is still parked ends once it wakes up.
+ */
+final class PeriodicSampler implements Runnable {
+
+    private final String threadName;
+    private final LongUnaryOperator task;
+    private volatile Thread worker;
+
+    /**
+     * @param threadName the name of the sampling thread
+     * @param task       takes the current time in milliseconds and returns the time of its next run
+     */
+    PeriodicSampler(String threadName, LongUnaryOperator task) {
+        this.threadName = threadName;
+        this.task = task;
+    }
+
+    void start() {
+        var thread = new Thread(this, threadName);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    void stop() {
+        var thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        var self = Thread.currentThread();
+        while (worker == self) {
+            long now = System.currentTimeMillis();
+            long nextRun = task.applyAsLong(now);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(nextRun - now, 1)));
+        }
+    }
+}
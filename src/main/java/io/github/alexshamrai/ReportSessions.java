@@ -0,0 +1,62 @@
+package io.github.alexshamrai;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns report file slots to launcher sessions that run concurrently in the same JVM.
+ * <p>
+ * The first active session gets slot {@code 0} and writes to the configured report path as is.
+ * Every session started while other sessions are still running gets the lowest free slot
+ * {@code n > 0} and writes to the configured path with a {@code -n} suffix before the file extension,
+ * e.g. {@code ctrf-report-1.json}. Slots are released when the session finishes its run.
+ * <p>
+ * Which slot a session gets depends on the timing of the sessions, so a file under a slot above {@code 0}
+ * may have been written by any earlier session. A session with {@code ctrf.session.id} set writes to the
+ * configured path with the id as suffix instead, which names the same file in every run.
+ */
+final class ReportSessions {
+
+    private static final Set<Integer> ACTIVE_SLOTS = ConcurrentHashMap.newKeySet();
+
+    private ReportSessions() {
+    }
+
+    static int acquire() {
+        int slot = 0;
+        while (!ACTIVE_SLOTS.add(slot)) {
+            slot++;
+        }
+        return slot;
+    }
+
+    static void release(int slot) {
+        if (slot >= 0) {
+            ACTIVE_SLOTS.remove(slot);
+        }
+    }
+
+    /**
+     * Returns the report path of a session: suffixed with the session id if one is set, otherwise with the slot.
+     */
+    static String resolveReportPath(String reportPath, String sessionId, int slot) {
+        return hasSessionId(sessionId) ? addSuffix(reportPath, sessionId.trim()) : resolveReportPath(reportPath, slot);
+    }
+
+    static String resolveReportPath(String reportPath, int slot) {
+        return slot <= 0 ? reportPath : addSuffix(reportPath, String.valueOf(slot));
+    }
+
+    static boolean hasSessionId(String sessionId) {
+        return sessionId != null && !sessionId.isBlank();
+    }
+
+    private static String addSuffix(String reportPath, String suffix) {
+        int separator = Math.max(reportPath.lastIndexOf('/'), reportPath.lastIndexOf('\\'));
+        int extension = reportPath.lastIndexOf('.');
+        if (extension <= separator + 1) {
+            return reportPath + "-" + suffix;
+        }
+        return reportPath.substring(0, extension) + "-" + suffix + reportPath.substring(extension);
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Live metrics of a report manager, exposed through JMX as a {@link CtrfReportManagerMxBean}.
+ * <p>
+ * Results are counted in striped adders and a sliding window of per-second buckets updated with CAS, so
+ * reporting a result never blocks. Reading a metric only sums counters or walks the concurrent in-flight
+ * map and the result queue, neither of which blocks the test threads.
+ */
+final class ReporterMetrics implements CtrfReportManagerMxBean {
+
+    static final String OBJECT_NAME_PREFIX = "io.github.alexshamrai:type=CtrfReportManager,session=";
+    private static final int WINDOW_SECONDS = 10;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final Supplier<InFlightTests> inFlightTests;
+    private final Supplier<RunEpoch> currentEpoch;
+    private final LongAdder[] statusCounters = new LongAdder[Test.TestStatus.values().length];
+    // Every bucket packs the second it counts in the upper and the number of results in the lower 32 bits
+    private final AtomicLongArray window = new AtomicLongArray(WINDOW_SECONDS);
+    private volatile long lastWriteLatencyMs = -1;
+    private volatile ObjectName objectName;
+
+    ReporterMetrics(Supplier<InFlightTests> inFlightTests, Supplier<RunEpoch> currentEpoch) {
+        this.inFlightTests = inFlightTests;
+        this.currentEpoch = currentEpoch;
+        for (int i = 0; i < statusCounters.length; i++) {
+            statusCounters[i] = new LongAdder();
+        }
+    }
+
+    void recordResult(Test.TestStatus status) {
+        statusCounters[status.ordinal()].increment();
+        long second = currentSecond();
+        int index = (int) (second % WINDOW_SECONDS);
+        long bucket;
+        long updated;
+        do {
+            bucket = window.get(index);
+            updated = bucket >>> 32 == second ? bucket + 1 : second << 32 | 1;
+        } while (!window.compareAndSet(index, bucket, updated));
+    }
+
+    void recordWriteLatency(long latencyNanos) {
+        lastWriteLatencyMs = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    }
+
+    /**
+     * Starts counting a new run and registers the metrics in the platform MBean server.
+     * <p>
+     * The MBean stays registered after the run finished, so the results and the latency of its last write can
+     * still be read, and is replaced by the next run of the same session slot. A long-lived JVM thus keeps at
+     * most one MBean per slot.
+     */
+    void register(int sessionSlot) {
+        for (LongAdder counter : statusCounters) {
+            counter.reset();
+        }
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            window.set(i, 0);
+        }
+        lastWriteLatencyMs = -1;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(OBJECT_NAME_PREFIX + sessionSlot);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new StandardMBean(this, CtrfReportManagerMxBean.class, true), name);
+            objectName = name;
+        } catch (JMException e) {
+            System.err.println("Failed to register the CTRF reporter MBean - " + e.getMessage());
+        }
+    }
+
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public long getPassedTests() {
+        return statusCounters[Test.TestStatus.PASSED.ordinal()].sum();
+    }
+
+    @Override
+    public long getFailedTests() {
+        return statusCounters[Test.TestStatus.FAILED.ordinal()].sum();
+    }
+
+    @Override
+    public long getSkippedTests() {
+        return statusCounters[Test.TestStatus.SKIPPED.ordinal()].sum();
+    }
+
+    @Override
+    public long getOtherTests() {
+        return statusCounters[Test.TestStatus.OTHER.ordinal()].sum()
+            + statusCounters[Test.TestStatus.PENDING.ordinal()].sum();
+    }
+
+    @Override
+    public int getInFlightTests() {
+        return inFlightTests.get().size();
+    }
+
+    @Override
+    public long getOldestInFlightTestAgeMs() {
+        long oldestStart = Long.MAX_VALUE;
+        for (TestDetails details : inFlightTests.get().view()) {
+            oldestStart = Math.min(oldestStart, details.getStartTime());
+        }
+        return oldestStart == Long.MAX_VALUE ? 0 : Math.max(System.currentTimeMillis() - oldestStart, 0);
+    }
+
+    @Override
+    public double getResultsPerSecond() {
+        long second = currentSecond();
+        long results = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long bucket = window.get(i);
+            long age = second - (bucket >>> 32);
+            // The current second is still being counted
+            if (age >= 1 && age <= WINDOW_SECONDS - 1) {
+                results += bucket & COUNT_MASK;
+            }
+        }
+        return results / (double) (WINDOW_SECONDS - 1);
+    }
+
+    @Override
+    public int getBufferedResults() {
+        return currentEpoch.get().size();
+    }
+
+    @Override
+    public long getLastWriteLatencyMs() {
+        return lastWriteLatencyMs;
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
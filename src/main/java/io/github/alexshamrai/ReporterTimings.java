@@ -0,0 +1,106 @@
+package io.github.alexshamrai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the time the reporter itself spends in its callbacks and report phases.
+ * <p>
+ * Every named timer counts its measurements and keeps their total and maximum in striped adders, so
+ * concurrent callbacks never contend on a lock. When disabled, starting a measurement does not even
+ * read the clock.
+ * <p>
+ * Measurements stopped after the {@link #snapshot()} was taken for the report, like writing the report file
+ * and the callback that finished the run, cannot be part of that report. They are kept apart and start the
+ * measurements of the next run, named with the prefix {@value #PREVIOUS_RUN_PREFIX}.
+ */
+final class ReporterTimings {
+
+    static final String PREVIOUS_RUN_PREFIX = "previousRun.";
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> afterSnapshot = new ConcurrentHashMap<>();
+    private volatile boolean snapshotTaken;
+
+    ReporterTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return the start timestamp to pass to {@link #stop(String, long)}
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void stop(String name, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        var target = snapshotTaken ? afterSnapshot : timers;
+        var timer = target.get(name);
+        if (timer == null) {
+            timer = target.computeIfAbsent(name, key -> new Timer());
+        }
+        timer.record(elapsedNanos);
+    }
+
+    /**
+     * Drops the measurements of a previous run, so a reused manager reports every run on its own. Only those
+     * taken after the previous run's snapshot are kept, under their prefixed names.
+     */
+    void reset() {
+        timers.clear();
+        for (var iterator = afterSnapshot.entrySet().iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            iterator.remove();
+            timers.put(PREVIOUS_RUN_PREFIX + entry.getKey(), entry.getValue());
+        }
+        snapshotTaken = false;
+    }
+
+    /**
+     * Returns the measurements so far by timer name, each with its {@code count}, {@code totalMicros}
+     * and {@code maxMicros}. Later measurements are kept for the next run.
+     */
+    Map<String, Object> snapshot() {
+        snapshotTaken = true;
+        var snapshot = new LinkedHashMap<String, Object>();
+        new TreeMap<>(timers).forEach((name, timer) -> snapshot.put(name, timer.describe()));
+        return snapshot;
+    }
+
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        Map<String, Object> describe() {
+            var description = new LinkedHashMap<String, Object>();
+            description.put("count", count.sum());
+            description.put("totalMicros", TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()));
+            description.put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+            return description;
+        }
+    }
+}
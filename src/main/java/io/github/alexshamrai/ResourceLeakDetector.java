@@ -0,0 +1,214 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.ResourceUsage;
+import io.github.alexshamrai.model.TestDetails;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds tests that leave threads, file descriptors or buffer memory behind.
+ * <p>
+ * The live platform threads, the open file descriptors and the memory of the direct and mapped buffer pools
+ * are read around every test that runs alone, i.e. no other test was running when it started and none started
+ * until its result, and the change is recorded as the test's leak. When tests run in parallel, a single test's
+ * change cannot be told apart from its neighbours', so the resources are read around each class instead, from
+ * the start of its first running test to the result of its last one, and the change is added up per class.
+ * The class change includes everything the classes running next to it did in the meantime.
+ * <p>
+ * Pools and threads the JVM starts lazily, e.g. the common fork join pool, are counted as a leak of the first
+ * test that uses them. Virtual threads are not counted.
+ */
+final class ResourceLeakDetector {
+
+    private static final Comparator<Map<String, Object>> BY_LEAKED_RESOURCES = Comparator
+        .comparingLong((Map<String, Object> leaker) -> valueOf(leaker, "leakedThreads"))
+        .thenComparingLong(leaker -> valueOf(leaker, "leakedFileDescriptors"))
+        .thenComparingLong(leaker -> valueOf(leaker, "leakedBufferBytes"));
+
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.UnixOperatingSystemMXBean unixMxBean = unixMxBean();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final AtomicLong startedTests = new AtomicLong();
+    private final AtomicInteger runningTests = new AtomicInteger();
+    private final ConcurrentHashMap<String, ClassWindow> classWindows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ResourceUsage> classLeaks = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the resources when the test starts alone, and opens the window of its class.
+     */
+    void start(TestDetails details) {
+        long sequence = startedTests.incrementAndGet();
+        var startResources = runningTests.getAndIncrement() == 0 ? snapshot() : null;
+        details.setStartSequence(sequence);
+        details.setStartResources(startResources);
+        var className = details.getFilePath();
+        if (className != null) {
+            classWindows.compute(className, (name, window) -> {
+                var current = window != null ? window : new ClassWindow(startResources != null ? startResources : snapshot());
+                current.runningTests++;
+                return current;
+            });
+        }
+    }
+
+    /**
+     * Records what a test that ran alone left behind in the test details, and closes the window of its class
+     * once its last running test finished.
+     */
+    void finish(TestDetails details) {
+        boolean alone = details.getStartResources() != null && startedTests.get() == details.getStartSequence();
+        if (alone) {
+            var change = delta(details.getStartResources(), snapshot());
+            details.setLeakedResources(isLeak(change) ? change : null);
+        }
+        runningTests.decrementAndGet();
+        closeClassWindow(details, alone);
+    }
+
+    /**
+     * Forgets a test that will not report a result, e.g. because it was evicted.
+     */
+    void abandon(TestDetails details) {
+        runningTests.decrementAndGet();
+        closeClassWindow(details, false);
+    }
+
+    /**
+     * Returns the tests and classes that leaked the most threads, then file descriptors, then buffer memory.
+     *
+     * @param tests the tests of the report
+     * @param limit the maximum number of leakers to return
+     * @return name, scope ({@code test} or {@code class}) and leaked resources of the worst leakers, worst first
+     */
+    List<Map<String, Object>> worstLeakers(List<Test> tests, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        var leakers = new ArrayList<Map<String, Object>>();
+        for (Test test : tests) {
+            var extra = test.getExtra();
+            if (extra != null) {
+                addIfLeaking(leakers, test.getName(), "test",
+                    new ResourceUsage(extra.getLeakedThreads(), extra.getLeakedFileDescriptors(), extra.getLeakedBufferBytes()));
+            }
+        }
+        classLeaks.forEach((className, leak) -> addIfLeaking(leakers, className, "class", leak));
+        leakers.sort(BY_LEAKED_RESOURCES.reversed());
+        return new ArrayList<>(leakers.subList(0, Math.min(limit, leakers.size())));
+    }
+
+    private void closeClassWindow(TestDetails details, boolean measuredAlone) {
+        var className = details.getFilePath();
+        if (className == null) {
+            return;
+        }
+        classWindows.computeIfPresent(className, (name, window) -> {
+            window.shared |= !measuredAlone;
+            if (--window.runningTests > 0) {
+                return window;
+            }
+            // Tests that ran alone already carry their own leak
+            if (window.shared) {
+                classLeaks.merge(name, delta(window.startResources, snapshot()), ResourceLeakDetector::sum);
+            }
+            return null;
+        });
+    }
+
+    ResourceUsage snapshot() {
+        Long fileDescriptors = unixMxBean != null ? unixMxBean.getOpenFileDescriptorCount() : null;
+        Long bufferBytes = null;
+        for (BufferPoolMXBean pool : bufferPools) {
+            long used = pool.getMemoryUsed();
+            if (used >= 0) {
+                bufferBytes = (bufferBytes != null ? bufferBytes : 0L) + used;
+            }
+        }
+        return new ResourceUsage((long) threadMxBean.getThreadCount(), fileDescriptors, bufferBytes);
+    }
+
+    private static ResourceUsage delta(ResourceUsage start, ResourceUsage end) {
+        return new ResourceUsage(
+            difference(start.getThreads(), end.getThreads()),
+            difference(start.getFileDescriptors(), end.getFileDescriptors()),
+            difference(start.getBufferBytes(), end.getBufferBytes()));
+    }
+
+    private static ResourceUsage sum(ResourceUsage first, ResourceUsage second) {
+        return new ResourceUsage(
+            add(first.getThreads(), second.getThreads()),
+            add(first.getFileDescriptors(), second.getFileDescriptors()),
+            add(first.getBufferBytes(), second.getBufferBytes()));
+    }
+
+    private static Long difference(Long start, Long end) {
+        return start != null && end != null ? end - start : null;
+    }
+
+    private static Long add(Long first, Long second) {
+        return first != null && second != null ? first + second : null;
+    }
+
+    private static void addIfLeaking(List<Map<String, Object>> leakers, String name, String scope, ResourceUsage leak) {
+        if (!isLeak(leak)) {
+            return;
+        }
+        var leaker = new LinkedHashMap<String, Object>();
+        leaker.put("name", name);
+        leaker.put("scope", scope);
+        putIfPresent(leaker, "leakedThreads", leak.getThreads());
+        putIfPresent(leaker, "leakedFileDescriptors", leak.getFileDescriptors());
+        putIfPresent(leaker, "leakedBufferBytes", leak.getBufferBytes());
+        leakers.add(leaker);
+    }
+
+    private static boolean isLeak(ResourceUsage change) {
+        return isPositive(change.getThreads()) || isPositive(change.getFileDescriptors()) || isPositive(change.getBufferBytes());
+    }
+
+    private static boolean isPositive(Long value) {
+        return value != null && value > 0;
+    }
+
+    private static long valueOf(Map<String, Object> leaker, String key) {
+        var value = leaker.get(key);
+        return value != null ? (Long) value : Long.MIN_VALUE;
+    }
+
+    private static void putIfPresent(Map<String, Object> leaker, String key, Long value) {
+        if (value != null) {
+            leaker.put(key, value);
+        }
+    }
+
+    private static com.sun.management.UnixOperatingSystemMXBean unixMxBean() {
+        var osMxBean = ManagementFactory.getOperatingSystemMXBean();
+        return osMxBean instanceof com.sun.management.UnixOperatingSystemMXBean
+            ? (com.sun.management.UnixOperatingSystemMXBean) osMxBean
+            : null;
+    }
+
+    /**
+     * The resources at the start of a class's first running test. Only accessed inside {@code compute}.
+     */
+    private static final class ClassWindow {
+        private final ResourceUsage startResources;
+        private int runningTests;
+        private boolean shared;
+
+        private ClassWindow(ResourceUsage startResources) {
+            this.startResources = startResources;
+        }
+    }
+}
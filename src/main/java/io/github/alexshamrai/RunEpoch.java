@@ -0,0 +1,268 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Results of one test run together with a quiescence barrier for the callbacks reporting into it.
+ * <p>
+ * A single atomic state word counts the callbacks that are building a result ("in flight"), the callbacks
+ * that are adding a finished result ("committing"), and whether the epoch is closed. Reporting a result
+ * costs two or three CAS operations and never blocks. Closing the epoch waits, up to a timeout, until no
+ * callback is in flight; callbacks that are still in flight at that point arrive late and their results are
+ * rejected instead of racing with the snapshot of the results.
+ * <p>
+ * Short actions on the state of the run, such as registering a started test or claiming a finished one, count
+ * as committing. Closing waits for them without a timeout, so once the epoch is closed, every test was either
+ * claimed by a callback, whose result is recorded or counted as late, or is still there to be reported as unfinished.
+ */
+final class RunEpoch {
+
+    /**
+     * What happened to a result reported with {@link #record(Function)}.
+     */
+    enum Outcome {
+        /** The result was added to this epoch. */
+        RECORDED,
+        /**
+         * The callback was in flight when the epoch closed, or arrived after that, so the result is late and dropped.
+         * A callback arriving at a closed epoch does not build its result.
+         */
+        LATE
+    }
+
+    private static final long COMMITTING_UNIT = 1L << 31;
+    private static final long IN_FLIGHT_MASK = COMMITTING_UNIT - 1;
+    private static final long CLOSED = 1L << 62;
+    private static final long COMMITTING_MASK = (CLOSED - 1) & ~IN_FLIGHT_MASK;
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AtomicLong state = new AtomicLong();
+    private final Queue<Test> tests = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, AtomicInteger> runCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger lateClaims = new AtomicInteger();
+    private final Consumer<Test> recordedResults;
+
+    RunEpoch() {
+        this(null);
+    }
+
+    /**
+     * Creates an epoch that reports the results recorded by callbacks, but not the late ones.
+     *
+     * @param recordedResults notified of every recorded result, or {@code null}
+     */
+    RunEpoch(Consumer<Test> recordedResults) {
+        this.recordedResults = recordedResults;
+    }
+
+    /**
+     * Builds a result inside the barrier and adds it to this epoch.
+     *
+     * @param resultFactory builds the result; it runs while the callback is counted as in flight
+     * @return whether the result was added or arrived late
+     */
+    Outcome record(Function<RunEpoch, Test> resultFactory) {
+        if (!enter()) {
+            return Outcome.LATE;
+        }
+        return buildAndCommit(resultFactory);
+    }
+
+    /**
+     * Claims the subject of a result, e.g. a started test, then builds the result inside the barrier and adds it
+     * to this epoch.
+     * <p>
+     * The claim runs as a short action, so it either happens before the epoch closes, and the result is recorded
+     * or counted as late, or not at all.
+     *
+     * @param claim         takes the subject of the result; returning {@code null} means there is nothing to report
+     *                      in this epoch and the result is late
+     * @param resultFactory builds the result from the claimed subject
+     * @return whether the result was added or arrived late
+     */
+    <T> Outcome record(Supplier<T> claim, BiFunction<RunEpoch, T, Test> resultFactory) {
+        if (!enterShortAction()) {
+            return Outcome.LATE;
+        }
+        T subject;
+        try {
+            subject = claim.get();
+        } catch (RuntimeException | Error e) {
+            state.addAndGet(-COMMITTING_UNIT);
+            throw e;
+        }
+        if (subject == null) {
+            state.addAndGet(-COMMITTING_UNIT);
+            return Outcome.LATE;
+        }
+        if (!claimed()) {
+            return Outcome.LATE;
+        }
+        return buildAndCommit(epoch -> resultFactory.apply(epoch, subject));
+    }
+
+    /**
+     * Runs a short action on the state of the run unless the epoch is closed.
+     *
+     * @return {@code false} if the epoch was closed and the action did not run
+     */
+    boolean runIfOpen(Runnable action) {
+        if (!enterShortAction()) {
+            return false;
+        }
+        try {
+            action.run();
+        } finally {
+            state.addAndGet(-COMMITTING_UNIT);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a result that is not reported by a test callback, such as a test of a previous report.
+     */
+    void add(Test test) {
+        recordRun(test);
+        tests.add(test);
+    }
+
+    /**
+     * Registers a run of the test under its name.
+     *
+     * @return the number of runs of a test with the same name recorded before this one
+     */
+    int recordRun(Test test) {
+        if (test.getName() == null) {
+            return 0;
+        }
+        return runCounts.computeIfAbsent(test.getName(), name -> new AtomicInteger()).getAndIncrement();
+    }
+
+    /**
+     * Closes the epoch once no callback is in flight, or when the timeout elapses.
+     *
+     * @param timeoutMillis the maximum time to wait for callbacks in flight
+     * @return the number of callbacks that were still in flight when the epoch was closed
+     */
+    int close(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int arrivingLate;
+        while (true) {
+            long current = state.get();
+            boolean quiescent = (current & ~CLOSED) == 0;
+            if (quiescent || System.nanoTime() - deadline >= 0) {
+                if (state.compareAndSet(current, current | CLOSED)) {
+                    arrivingLate = (int) (current & IN_FLIGHT_MASK);
+                    break;
+                }
+            } else {
+                LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+            }
+        }
+        // Committing callbacks passed the barrier before it closed and are only adding their result or claiming a test
+        while ((state.get() & COMMITTING_MASK) != 0) {
+            Thread.onSpinWait();
+        }
+        return arrivingLate + lateClaims.get();
+    }
+
+    /**
+     * Returns the number of results added so far. The queue is traversed without locking, so the number
+     * is approximate while results are being added.
+     */
+    int size() {
+        return tests.size();
+    }
+
+    List<Test> snapshot() {
+        return new ArrayList<>(tests);
+    }
+
+    /**
+     * Drops the results of a closed epoch once they are reported. The epoch still rejects late callbacks.
+     */
+    void discardResults() {
+        tests.clear();
+        runCounts.clear();
+    }
+
+    private Outcome buildAndCommit(Function<RunEpoch, Test> resultFactory) {
+        Test test;
+        try {
+            test = resultFactory.apply(this);
+        } catch (RuntimeException | Error e) {
+            state.decrementAndGet();
+            throw e;
+        }
+        return commit(test) ? Outcome.RECORDED : Outcome.LATE;
+    }
+
+    private boolean enterShortAction() {
+        long current;
+        do {
+            current = state.get();
+            if ((current & CLOSED) != 0) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, current + COMMITTING_UNIT));
+        return true;
+    }
+
+    /**
+     * Turns a finished claim into a callback in flight. A claim that finished after the epoch closed is counted
+     * as late before it stops committing, so {@link #close(long)} sees it.
+     */
+    private boolean claimed() {
+        long current;
+        do {
+            current = state.get();
+            if ((current & CLOSED) != 0) {
+                lateClaims.incrementAndGet();
+                state.addAndGet(-COMMITTING_UNIT);
+                return false;
+            }
+        } while (!state.compareAndSet(current, current - COMMITTING_UNIT + 1));
+        return true;
+    }
+
+    private boolean enter() {
+        long previous = state.getAndIncrement();
+        if ((previous & CLOSED) != 0) {
+            state.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean commit(Test test) {
+        long current;
+        do {
+            current = state.get();
+            if ((current & CLOSED) != 0) {
+                state.decrementAndGet();
+                return false;
+            }
+        } while (!state.compareAndSet(current, current - 1 + COMMITTING_UNIT));
+
+        tests.add(test);
+        state.addAndGet(-COMMITTING_UNIT);
+        if (recordedResults != null) {
+            recordedResults.accept(test);
+        }
+        return true;
+    }
+}
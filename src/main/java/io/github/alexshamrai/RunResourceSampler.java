@@ -0,0 +1,158 @@
+package io.github.alexshamrai;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples the load of the machine and the JVM at a fixed interval for the whole run.
+ * <p>
+ * A single daemon thread records the process CPU load, the system load average, the used heap, the live
+ * platform threads and the number of garbage collections. The samples are kept in one primitive array per
+ * series and written to the report delta-encoded: the first value of a series is absolute, every following
+ * value is the difference to its predecessor, which keeps the numbers of slowly changing series short.
+ * The sample times are milliseconds since {@code startTime}, on the same clock as the test start and stop
+ * times, so a slow stretch of the suite can be lined up with the machine's load.
+ * <p>
+ * A run is kept to at most {@value #MAX_SAMPLES} samples: when they are used up, every second sample is
+ * dropped and the interval is doubled.
+ */
+final class RunResourceSampler implements Runnable {
+
+    static final int MAX_SAMPLES = 4096;
+    private static final String THREAD_NAME = "ctrf-resource-sampler";
+    private static final String[] SERIES = {"time", "processCpuPercent", "loadAverage", "heapUsedKb", "threads", "gcCount"};
+
+    private final MemoryMXBean memoryMxBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[][] columns = new long[SERIES.length][64];
+    private final long configuredIntervalMillis;
+    private int size;
+    private long startTime;
+    private volatile long intervalMillis;
+    private volatile Thread worker;
+
+    RunResourceSampler(long intervalMillis) {
+        this.configuredIntervalMillis = Math.max(intervalMillis, 1);
+        this.intervalMillis = configuredIntervalMillis;
+    }
+
+    /**
+     * Starts sampling a new timeline at the configured interval.
+     */
+    void start() {
+        synchronized (this) {
+            size = 0;
+            intervalMillis = configuredIntervalMillis;
+            startTime = System.currentTimeMillis();
+        }
+        sample(startTime);
+        var thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops sampling and takes a last sample, so the timeline covers the run up to its end.
+     */
+    void stop() {
+        var thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            sample(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void run() {
+        var self = Thread.currentThread();
+        while (true) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(intervalMillis));
+            if (worker != self) {
+                return;
+            }
+            sample(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records a sample of every series.
+     *
+     * @param now the current time in milliseconds
+     */
+    synchronized void sample(long now) {
+        if (size == MAX_SAMPLES) {
+            halveResolution();
+        }
+        if (size == columns[0].length) {
+            for (int series = 0; series < columns.length; series++) {
+                columns[series] = Arrays.copyOf(columns[series], Math.min(size * 2, MAX_SAMPLES));
+            }
+        }
+        columns[0][size] = now - startTime;
+        columns[1][size] = processCpuPercent();
+        double loadAverage = osMxBean.getSystemLoadAverage();
+        columns[2][size] = loadAverage >= 0 ? Math.round(loadAverage * 100) : -1;
+        columns[3][size] = memoryMxBean.getHeapMemoryUsage().getUsed() / 1024;
+        columns[4][size] = threadMxBean.getThreadCount();
+        columns[5][size] = collectionCount();
+        size++;
+    }
+
+    /**
+     * Describes the timeline as its start time, interval and delta-encoded series. The load average is in
+     * hundredths, unavailable values are {@code -1} before the encoding.
+     */
+    synchronized Map<String, Object> describe() {
+        var timeline = new LinkedHashMap<String, Object>();
+        timeline.put("startTime", startTime);
+        timeline.put("intervalMs", intervalMillis);
+        timeline.put("samples", size);
+        for (int series = 0; series < SERIES.length; series++) {
+            var deltas = new long[size];
+            for (int i = 0; i < size; i++) {
+                deltas[i] = i == 0 ? columns[series][0] : columns[series][i] - columns[series][i - 1];
+            }
+            timeline.put(SERIES[series], deltas);
+        }
+        return timeline;
+    }
+
+    private void halveResolution() {
+        for (long[] column : columns) {
+            for (int i = 0; i * 2 < size; i++) {
+                column[i] = column[i * 2];
+            }
+        }
+        size = (size + 1) / 2;
+        intervalMillis *= 2;
+    }
+
+    private long processCpuPercent() {
+        if (!(osMxBean instanceof com.sun.management.OperatingSystemMXBean)) {
+            return -1;
+        }
+        double load = ((com.sun.management.OperatingSystemMXBean) osMxBean).getProcessCpuLoad();
+        return load >= 0 ? Math.round(load * 100) : -1;
+    }
+
+    private long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+}
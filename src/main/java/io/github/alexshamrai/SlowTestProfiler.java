@@ -0,0 +1,161 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.StackProfile;
+import io.github.alexshamrai.model.TestDetails;
+import io.github.alexshamrai.util.ThreadUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Samples the stacks of tests that run longer than a threshold and aggregates them into a profile per test.
+ * <p>
+ * A single daemon thread wakes up every {@code intervalMillis} while a test is above the threshold, and otherwise
+ * only when the next test can cross it, so tests that finish in time are never sampled. The platform threads of
+ * all slow tests are sampled with one {@code ThreadMXBean.getThreadInfo} call, virtual threads through
+ * {@code Thread.getStackTrace}.
+ * <p>
+ * The profile is added to the test's extra data as its hot frames, the frames on top of the stack in most samples,
+ * and its most frequent folded stacks, which flame graph tools read directly.
+ */
+final class SlowTestProfiler {
+
+    private static final int MAX_STACK_DEPTH = 128;
+    private static final int MAX_FOLDED_STACKS = 50;
+    private static final String THREAD_NAME = "ctrf-slow-test-profiler";
+
+    private final Supplier<InFlightTests> inFlightTests;
+    private final long thresholdMillis;
+    private final long intervalMillis;
+    private final int topFrames;
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    private final PeriodicSampler sampler = new PeriodicSampler(THREAD_NAME, this::sample);
+
+    SlowTestProfiler(Supplier<InFlightTests> inFlightTests, long thresholdMillis, long intervalMillis, int topFrames) {
+        this.inFlightTests = inFlightTests;
+        this.thresholdMillis = thresholdMillis;
+        this.intervalMillis = Math.max(intervalMillis, 1);
+        this.topFrames = Math.max(topFrames, 0);
+    }
+
+    void start() {
+        sampler.start();
+    }
+
+    void stop() {
+        sampler.stop();
+    }
+
+    /**
+     * Samples every in-flight test above the threshold.
+     *
+     * @param now the current time in milliseconds
+     * @return the time of the next sample, i.e. one interval from now while a test is above the threshold,
+     *     otherwise the earliest threshold crossing
+     */
+    @SuppressWarnings("deprecation")
+    long sample(long now) {
+        long nextSample = now + thresholdMillis;
+        var platformThreads = new ArrayList<Thread>();
+        var platformTests = new ArrayList<TestDetails>();
+        for (TestDetails details : inFlightTests.get().view()) {
+            long thresholdTime = details.getStartTime() + thresholdMillis;
+            if (now < thresholdTime) {
+                nextSample = Math.min(nextSample, thresholdTime);
+                continue;
+            }
+            nextSample = Math.min(nextSample, now + intervalMillis);
+            var thread = details.getThread();
+            if (thread == null || !thread.isAlive()) {
+                continue;
+            }
+            if (ThreadUtil.isVirtual(thread)) {
+                profileOf(details).add(thread.getStackTrace(), MAX_STACK_DEPTH);
+            } else {
+                platformThreads.add(thread);
+                platformTests.add(details);
+            }
+        }
+        if (!platformThreads.isEmpty()) {
+            var threadIds = platformThreads.stream().mapToLong(Thread::getId).toArray();
+            // One frame more than kept tells a truncated stack from one of exactly the maximum depth
+            ThreadInfo[] infos = threadMxBean.getThreadInfo(threadIds, MAX_STACK_DEPTH + 1);
+            for (int i = 0; i < infos.length; i++) {
+                if (infos[i] != null) {
+                    profileOf(platformTests.get(i)).add(infos[i].getStackTrace(), MAX_STACK_DEPTH);
+                }
+            }
+        }
+        return nextSample;
+    }
+
+    /**
+     * Adds the profile of a sampled test to its extra data.
+     */
+    void attach(TestDetails details, Test test) {
+        var profile = details.getProfile();
+        if (profile == null || profile.getSamples() == 0) {
+            return;
+        }
+        var extra = test.getExtra();
+        if (extra == null) {
+            extra = new Extra();
+            test.setExtra(extra);
+        }
+        extra.setProfile(describe(profile));
+    }
+
+    /**
+     * Describes a profile as its sample count, sampling interval, hot frames and most frequent folded stacks.
+     */
+    Map<String, Object> describe(StackProfile profile) {
+        var foldedStacks = new ArrayList<>(profile.getFoldedStacks().entrySet());
+        foldedStacks.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        var selfSamples = new HashMap<String, Long>();
+        for (Map.Entry<String, Long> stack : foldedStacks) {
+            var frames = stack.getKey();
+            var topFrame = frames.substring(frames.lastIndexOf(';') + 1);
+            selfSamples.merge(topFrame, stack.getValue(), Long::sum);
+        }
+        var hotFrames = new ArrayList<>(selfSamples.entrySet());
+        hotFrames.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        var description = new LinkedHashMap<String, Object>();
+        description.put("samples", profile.getSamples());
+        description.put("intervalMs", intervalMillis);
+        List<Map<String, Object>> topFrameList = new ArrayList<>();
+        for (Map.Entry<String, Long> frame : hotFrames.subList(0, Math.min(topFrames, hotFrames.size()))) {
+            var entry = new LinkedHashMap<String, Object>();
+            entry.put("frame", frame.getKey());
+            entry.put("samples", frame.getValue());
+            topFrameList.add(entry);
+        }
+        description.put("topFrames", topFrameList);
+        List<String> foldedStackList = new ArrayList<>();
+        for (Map.Entry<String, Long> stack : foldedStacks.subList(0, Math.min(MAX_FOLDED_STACKS, foldedStacks.size()))) {
+            foldedStackList.add(stack.getKey() + " " + stack.getValue());
+        }
+        description.put("foldedStacks", foldedStackList);
+        return description;
+    }
+
+    private static StackProfile profileOf(TestDetails details) {
+        var profile = details.getProfile();
+        if (profile == null) {
+            // Only the profiler thread creates profiles
+            profile = new StackProfile();
+            details.setProfile(profile);
+        }
+        return profile;
+    }
+}
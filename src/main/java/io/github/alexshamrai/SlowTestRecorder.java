@@ -0,0 +1,162 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.jfr.ReporterEvents;
+import io.github.alexshamrai.model.TestDetails;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a continuous JFR recording during the run and dumps the part covering a test that was slow or timed out.
+ * <p>
+ * The recording uses the {@code default} JFR settings and is bounded by a maximum size, so it can run for the
+ * whole suite. When a test takes longer than the threshold, fails with a timeout or stalled, the recording is cloned and the
+ * chunks covering the test's start to its result are written to a {@code .jfr} file, which is added to the test's
+ * {@code attachments}. JFR stores events in chunks, so the file may also contain events from shortly before the test.
+ * The dump is written on the thread reporting the result, which only ever delays tests that were slow already.
+ */
+final class SlowTestRecorder {
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final String JUNIT_PACKAGE = "org.junit.";
+
+    private final long thresholdMillis;
+    private final long maxSizeBytes;
+    private final AtomicInteger dumpCount = new AtomicInteger();
+    private Path directory;
+    private volatile Recording recording;
+    private FlightRecorderMXBean flightRecorder;
+
+    SlowTestRecorder(long thresholdMillis, long maxSizeBytes) {
+        this.thresholdMillis = thresholdMillis;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Starts the recording.
+     *
+     * @param directory the directory to write the recordings of slow tests to; it is created on the first dump
+     */
+    void start(Path directory) {
+        if (!ReporterEvents.isAvailable() || !FlightRecorder.isAvailable()) {
+            System.err.println("JFR is not available, recordings of slow tests are disabled.");
+            return;
+        }
+        try {
+            var continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName("ctrf-slow-tests");
+            continuous.setToDisk(true);
+            continuous.setMaxSize(maxSizeBytes);
+            continuous.start();
+            this.directory = directory;
+            this.flightRecorder = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+            // Published last, it makes the other fields visible to the test threads
+            this.recording = continuous;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Failed to start the JFR recording for slow tests - " + e.getMessage());
+        }
+    }
+
+    void stop() {
+        var continuous = recording;
+        recording = null;
+        if (continuous != null) {
+            continuous.close();
+        }
+    }
+
+    /**
+     * Dumps the recording of a test that exceeded the threshold, timed out or was sampled as stalled by the
+     * {@link HungTestWatchdog} and adds it to its attachments.
+     *
+     * @param details the details of the test, for its start time
+     * @param test    the result of the test
+     * @param cause   the failure of the test, or {@code null}
+     */
+    void recordIfSlow(TestDetails details, Test test, Throwable cause) {
+        var continuous = recording;
+        // assertTimeout fails with a plain assertion error, such a test is caught by the threshold or the watchdog
+        boolean stalled = details.getStallSamples() != null;
+        if (continuous == null || (test.getDuration() < thresholdMillis && !isTimeout(cause) && !stalled)) {
+            return;
+        }
+        var file = directory.resolve(fileName(test.getName()));
+        try {
+            Files.createDirectories(directory);
+            dump(continuous, details.getStartTime(), file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write the JFR recording of test " + test.getName() + " - " + e.getMessage());
+            return;
+        }
+        var attachment = new LinkedHashMap<String, Object>();
+        attachment.put("name", "JFR recording");
+        attachment.put("contentType", CONTENT_TYPE);
+        attachment.put("path", file.toString());
+        var attachments = test.getAttachments() != null ? new ArrayList<>(test.getAttachments()) : new ArrayList<>();
+        attachments.add(attachment);
+        test.setAttachments(attachments);
+    }
+
+    private void dump(Recording continuous, long startTime, Path file) throws IOException {
+        // A stopped clone contains everything recorded up to now
+        long cloneId = flightRecorder.cloneRecording(continuous.getId(), true);
+        try {
+            long streamId = flightRecorder.openStream(cloneId, Map.of(
+                "startTime", Instant.ofEpochMilli(startTime).toString(),
+                "endTime", Instant.now().toString()));
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] block;
+                while ((block = flightRecorder.readStream(streamId)) != null) {
+                    out.write(block);
+                }
+            } finally {
+                flightRecorder.closeStream(streamId);
+            }
+        } finally {
+            flightRecorder.closeRecording(cloneId);
+        }
+    }
+
+    private String fileName(String testName) {
+        var name = testName != null ? testName.replaceAll("[^A-Za-z0-9._-]+", "_") : "test";
+        if (name.length() > 100) {
+            name = name.substring(0, 100);
+        }
+        return name + "-" + dumpCount.incrementAndGet() + ".jfr";
+    }
+
+    /**
+     * Tells a timeout apart from other failures by the types in its cause chain: JUnit's {@code @Timeout} fails with
+     * a {@link TimeoutException}, {@code assertTimeoutPreemptively} with an assertion error caused by JUnit's
+     * {@code ExecutionTimeoutException}, which is not public and is recognized by its name.
+     */
+    static boolean isTimeout(Throwable cause) {
+        var current = cause;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++, current = current.getCause()) {
+            if (current instanceof TimeoutException || isJUnitTimeout(current.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJUnitTimeout(Class<?> type) {
+        return type.getName().startsWith(JUNIT_PACKAGE) && type.getSimpleName().endsWith(TimeoutException.class.getSimpleName());
+    }
+}
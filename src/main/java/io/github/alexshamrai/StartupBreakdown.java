@@ -0,0 +1,103 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.launcher.LauncherDiscovery;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits the time from the JVM start to the first test into phases, with the classes loaded in each of them.
+ * <p>
+ * The phases end at the start of the launcher's test discovery ({@code launcher}), at its end
+ * ({@code discovery}), at the start of the run, i.e. the first {@code beforeAll} callback of
+ * {@code CtrfExtension} or the test plan execution start of {@code CtrfListener} ({@code executionStart}),
+ * and at the start of the first test ({@code firstTest}). The discovery is only known with the
+ * {@code CtrfDiscoveryListener} registered; without it, {@code executionStart} covers the time from the JVM start.
+ * <p>
+ * All times are taken during this run, so unlike {@code startupDuration} the breakdown does not depend on a
+ * summary start time merged from a previous report.
+ */
+final class StartupBreakdown {
+
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicReference<Mark> firstTestStart = new AtomicReference<>();
+    private volatile Mark runStart;
+    private volatile LauncherDiscovery discovery;
+
+    /**
+     * Records the start of the run, along with the discovery that preceded it.
+     *
+     * @param startTime the start time of the run
+     * @param discovery the discovery of the run, finished before its start, or {@code null} if it was not timed
+     */
+    void runStarted(long startTime, LauncherDiscovery discovery) {
+        this.discovery = discovery;
+        runStart = new Mark(startTime, loadedClasses());
+    }
+
+    /**
+     * Records the start of the first test; later tests cost a single read.
+     */
+    void testStarted(long startTime) {
+        if (firstTestStart.get() == null) {
+            firstTestStart.compareAndSet(null, new Mark(startTime, loadedClasses()));
+        }
+    }
+
+    /**
+     * Describes the phases of the startup, or returns {@code null} if the run was not started.
+     */
+    Map<String, Object> describe() {
+        var start = runStart;
+        if (start == null) {
+            return null;
+        }
+        List<Map<String, Object>> phases = new ArrayList<>();
+        var previous = new Mark(jvmStartTime, 0);
+        var launcherDiscovery = discovery;
+        if (launcherDiscovery != null) {
+            var discoveryStart = new Mark(launcherDiscovery.getStartTime(), launcherDiscovery.getStartLoadedClasses());
+            var discoveryFinish = new Mark(launcherDiscovery.getFinishTime(), launcherDiscovery.getFinishLoadedClasses());
+            phases.add(phase("launcher", previous, discoveryStart));
+            phases.add(phase("discovery", discoveryStart, discoveryFinish));
+            previous = discoveryFinish;
+        }
+        phases.add(phase("executionStart", previous, start));
+        var firstTest = firstTestStart.get();
+        if (firstTest != null) {
+            phases.add(phase("firstTest", start, firstTest));
+        }
+
+        var breakdown = new LinkedHashMap<String, Object>();
+        breakdown.put("jvmStartTime", jvmStartTime);
+        breakdown.put("totalMs", (firstTest != null ? firstTest : start).time - jvmStartTime);
+        breakdown.put("phases", phases);
+        return breakdown;
+    }
+
+    private static long loadedClasses() {
+        return ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+    }
+
+    private static Map<String, Object> phase(String name, Mark from, Mark to) {
+        var phase = new LinkedHashMap<String, Object>();
+        phase.put("name", name);
+        phase.put("durationMs", to.time - from.time);
+        phase.put("loadedClasses", to.loadedClasses - from.loadedClasses);
+        return phase;
+    }
+
+    private static final class Mark {
+        private final long time;
+        private final long loadedClasses;
+
+        private Mark(long time, long loadedClasses) {
+            this.time = time;
+            this.loadedClasses = loadedClasses;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package io.github.alexshamrai;
 
 import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.ctrf.model.Extra;
 import io.github.alexshamrai.ctrf.model.Test;
 import io.github.alexshamrai.model.TestDetails;
+import io.github.alexshamrai.util.ThreadUtil;
 import lombok.RequiredArgsConstructor;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
 public class TestProcessor {
@@ -24,26 +28,109 @@ public class TestProcessor {
         test.setTrace(trace);
     }
 
+    /**
+     * Truncates the trace of a test to {@code ctrf.max.message.length}, like its message.
+     *
+     * @param test the test whose trace is capped
+     */
+    public void capTrace(Test test) {
+        int maxMessageLength = configReader.getMaxMessageLength();
+        var trace = test.getTrace();
+        if (trace != null && trace.length() > maxMessageLength) {
+            test.setTrace(trace.substring(0, maxMessageLength) + "...");
+        }
+    }
+
     /**
      * Creates a new Test object with details from the test execution.
      *
      * <p>This method is now framework-agnostic and uses the provided details to build
      * a CTRF-compliant Test object.</p>
      *
+     * <p>The reporting thread is recorded by name, or by id when it is unnamed, as virtual threads are
+     * by default. For a virtual thread the carrier it runs on is added to the test's extra data, as are
+     * the stack samples the hung test watchdog took while the test was stalled and the CPU time and allocated
+     * bytes measured by the {@code ThreadResourceMeter} and the blocked and waited counters measured by the
+     * {@code ThreadContentionMeter}, as well as the garbage collection pauses and heap growth attributed to
+     * the test by the {@code GcPauseTracker}.</p>
+     *
      * @param displayName the name of the test to be displayed in the report
      * @param details     the test details gathered during execution (start time, tags, etc.)
      * @param stopTime    the timestamp when the test completed
      * @return a fully populated Test object
      */
     public Test createTest(String displayName, TestDetails details, long stopTime) {
-        return Test.builder()
+        var thread = Thread.currentThread();
+        var test = Test.builder()
             .name(displayName) // Use the displayName parameter
             .tags(details.getTags() != null ? new ArrayList<>(details.getTags()) : new ArrayList<>())
             .filepath(details.getFilePath())
             .start(details.getStartTime())
             .stop(stopTime)
             .duration(stopTime - details.getStartTime())
-            .threadId(Thread.currentThread().getName())
+            .threadId(ThreadUtil.describe(thread))
             .build();
+
+        var carrierThread = ThreadUtil.carrierOf(thread);
+        var stallSamples = stallSamplesOf(details);
+        var cpuTimeMicros = details.getCpuTimeNanos() >= 0 ? TimeUnit.NANOSECONDS.toMicros(details.getCpuTimeNanos()) : null;
+        var allocatedBytes = details.getAllocatedBytes() >= 0 ? details.getAllocatedBytes() : null;
+        var contention = details.getContention();
+        boolean gcActivity = details.getGcCount() > 0 || details.getHeapUsedDeltaBytes() != null;
+        var leak = details.getLeakedResources();
+        if (carrierThread != null || stallSamples != null || cpuTimeMicros != null || allocatedBytes != null
+            || contention != null || gcActivity || leak != null) {
+            var extra = Extra.builder()
+                .carrierThread(carrierThread)
+                .stallSamples(stallSamples)
+                .cpuTimeMicros(cpuTimeMicros)
+                .allocatedBytes(allocatedBytes)
+                .build();
+            if (contention != null) {
+                extra.setBlockedCount(contention.getBlockedCount());
+                extra.setBlockedTimeMs(contention.getBlockedTimeMs() >= 0 ? contention.getBlockedTimeMs() : null);
+                extra.setWaitedCount(contention.getWaitedCount());
+                extra.setWaitedTimeMs(contention.getWaitedTimeMs() >= 0 ? contention.getWaitedTimeMs() : null);
+            }
+            if (details.getGcCount() > 0) {
+                extra.setGcCount((long) details.getGcCount());
+                extra.setGcPauseMs(details.getGcPauseMs());
+            }
+            extra.setHeapUsedDeltaBytes(details.getHeapUsedDeltaBytes());
+            if (leak != null) {
+                extra.setLeakedThreads(leak.getThreads());
+                extra.setLeakedFileDescriptors(leak.getFileDescriptors());
+                extra.setLeakedBufferBytes(leak.getBufferBytes());
+            }
+            test.setExtra(extra);
+        }
+        return test;
+    }
+
+    /**
+     * Creates a Test object for a test that started but never reported a result.
+     *
+     * <p>The test gets the {@code other} status with the given raw status and the time elapsed
+     * since its start as duration. It is created outside the test's thread, so no thread is recorded.
+     * Stack samples of a stalled test are kept as the record of where it hung.</p>
+     *
+     * @param details   the test details gathered when the test started
+     * @param stopTime  the timestamp when the test was given up on
+     * @param rawStatus the reason the test has no result, e.g. {@code incomplete}
+     * @return a Test object describing the unfinished test
+     */
+    public Test createIncompleteTest(TestDetails details, long stopTime, String rawStatus) {
+        var test = createTest(details.getDisplayName(), details, stopTime);
+        test.setStatus(Test.TestStatus.OTHER);
+        test.setRawStatus(rawStatus);
+        test.setThreadId(null);
+        var stallSamples = stallSamplesOf(details);
+        test.setExtra(stallSamples != null ? Extra.builder().stallSamples(stallSamples).build() : null);
+        return test;
+    }
+
+    private List<String> stallSamplesOf(TestDetails details) {
+        var stallSamples = details.getStallSamples();
+        return stallSamples != null && !stallSamples.isEmpty() ? List.copyOf(stallSamples) : null;
     }
-}
\ No newline at end of file
+}
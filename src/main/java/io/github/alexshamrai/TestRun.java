@@ -0,0 +1,65 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+
+import java.util.function.Consumer;
+
+/**
+ * State of one test run of a report manager: the report session slot it acquired, its start time, the epoch
+ * collecting its results and the tests it has in flight.
+ * <p>
+ * The state is immutable and replaced as a whole when a run starts or finishes, so a run that is still
+ * writing its report only ever drains its own tests and releases its own slot, even when the next run of
+ * a reused manager has already started.
+ */
+final class TestRun {
+
+    private final int sessionSlot;
+    private final long startTime;
+    private final RunEpoch epoch;
+    private final InFlightTests inFlightTests;
+
+    private TestRun(int sessionSlot, long startTime, RunEpoch epoch, InFlightTests inFlightTests) {
+        this.sessionSlot = sessionSlot;
+        this.startTime = startTime;
+        this.epoch = epoch;
+        this.inFlightTests = inFlightTests;
+    }
+
+    /**
+     * Creates the state collecting results until the next run starts.
+     *
+     * @param maxInFlightTests the maximum number of in-flight tests, or {@code 0} for no limit
+     * @param recordedResults  notified of every result recorded by a callback, or {@code null}
+     */
+    static TestRun pending(int maxInFlightTests, Consumer<Test> recordedResults) {
+        return new TestRun(-1, 0, new RunEpoch(recordedResults), new InFlightTests(maxInFlightTests));
+    }
+
+    /**
+     * Returns the started run, which keeps the results and the tests collected while it was pending.
+     */
+    TestRun start(int sessionSlot, long startTime) {
+        return new TestRun(sessionSlot, startTime, epoch, inFlightTests);
+    }
+
+    boolean isStarted() {
+        return sessionSlot >= 0;
+    }
+
+    int getSessionSlot() {
+        return sessionSlot;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    RunEpoch getEpoch() {
+        return epoch;
+    }
+
+    InFlightTests getInFlightTests() {
+        return inFlightTests;
+    }
+}
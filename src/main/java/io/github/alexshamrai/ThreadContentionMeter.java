@@ -0,0 +1,120 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import io.github.alexshamrai.model.ThreadContention;
+import io.github.alexshamrai.util.ThreadUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Measures how often and how long a test's thread was blocked on monitors and waiting, to find the tests
+ * that contend on shared state when tests run in parallel.
+ * <p>
+ * The counters of the thread that started the test are read when it starts and when it reports its result.
+ * Thread contention monitoring is enabled when the meter is created, which is what makes the JVM track the
+ * blocked and waited times. Virtual threads are not covered by {@code ThreadMXBean} and are not measured.
+ */
+final class ThreadContentionMeter {
+
+    private static final Comparator<Test> BY_BLOCKED_TIME = Comparator
+        .comparingLong((Test test) -> test.getExtra().getBlockedTimeMs() != null ? test.getExtra().getBlockedTimeMs() : -1)
+        .thenComparingLong(test -> test.getExtra().getBlockedCount());
+
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+
+    ThreadContentionMeter() {
+        if (threadMxBean.isThreadContentionMonitoringSupported() && !threadMxBean.isThreadContentionMonitoringEnabled()) {
+            threadMxBean.setThreadContentionMonitoringEnabled(true);
+        }
+    }
+
+    void start(TestDetails details) {
+        details.setStartContention(sample(details.getThread()));
+    }
+
+    /**
+     * Records the counter deltas since {@link #start(TestDetails)} in the test details.
+     */
+    void finish(TestDetails details) {
+        var start = details.getStartContention();
+        var end = start != null ? sample(details.getThread()) : null;
+        if (end == null) {
+            return;
+        }
+        details.setContention(new ThreadContention(
+            end.getBlockedCount() - start.getBlockedCount(),
+            timeDelta(start.getBlockedTimeMs(), end.getBlockedTimeMs()),
+            end.getWaitedCount() - start.getWaitedCount(),
+            timeDelta(start.getWaitedTimeMs(), end.getWaitedTimeMs())));
+    }
+
+    /**
+     * Returns the tests that were blocked the longest, or the most often when blocked times are not available.
+     *
+     * @param tests the tests of the report
+     * @param limit the maximum number of tests to return
+     * @return name and contention counters of the most contended tests, most contended first
+     */
+    static List<Map<String, Object>> mostContendedTests(List<Test> tests, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        var top = new PriorityQueue<Test>(limit + 1, BY_BLOCKED_TIME);
+        for (Test test : tests) {
+            var extra = test.getExtra();
+            if (extra == null || extra.getBlockedCount() == null || extra.getBlockedCount() == 0) {
+                continue;
+            }
+            top.add(test);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        var mostContended = new ArrayList<Test>(top);
+        mostContended.sort(BY_BLOCKED_TIME.reversed());
+
+        var result = new ArrayList<Map<String, Object>>(mostContended.size());
+        for (Test test : mostContended) {
+            var extra = test.getExtra();
+            var entry = new LinkedHashMap<String, Object>();
+            entry.put("name", test.getName());
+            entry.put("blockedCount", extra.getBlockedCount());
+            putIfPresent(entry, "blockedTimeMs", extra.getBlockedTimeMs());
+            putIfPresent(entry, "waitedCount", extra.getWaitedCount());
+            putIfPresent(entry, "waitedTimeMs", extra.getWaitedTimeMs());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("deprecation")
+    private ThreadContention sample(Thread thread) {
+        if (thread == null || ThreadUtil.isVirtual(thread) || !thread.isAlive()) {
+            return null;
+        }
+        ThreadInfo info = threadMxBean.getThreadInfo(thread.getId(), 0);
+        if (info == null) {
+            return null;
+        }
+        return new ThreadContention(info.getBlockedCount(), info.getBlockedTime(), info.getWaitedCount(), info.getWaitedTime());
+    }
+
+    private static long timeDelta(long start, long end) {
+        return start >= 0 && end >= start ? end - start : -1;
+    }
+
+    private static void putIfPresent(Map<String, Object> entry, String key, Long value) {
+        if (value != null) {
+            entry.put(key, value);
+        }
+    }
+}
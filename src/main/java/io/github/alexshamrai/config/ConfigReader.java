@@ -2,18 +2,23 @@ package io.github.alexshamrai.config;
 
 import org.aeonbits.owner.ConfigFactory;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * A reader for configuration properties defined in the {@link CtrfConfig} interface.
+ * <p>
+ * The configuration is loaded on the first read, so creating a reader does not load Owner
+ * or the properties file before the configuration is actually needed.
  */
 public class ConfigReader {
 
-    private final CtrfConfig config;
+    private final AtomicReference<CtrfConfig> config;
 
     /**
      * Creates a new {@code ConfigReader} with the configuration in ctrf.properties.
      */
     public ConfigReader() {
-        this.config = ConfigFactory.create(CtrfConfig.class);
+        this.config = new AtomicReference<>();
     }
 
     /**
@@ -23,78 +28,196 @@ public class ConfigReader {
      * @param config the configuration to use
      */
     public ConfigReader(CtrfConfig config) {
-        this.config = config;
+        this.config = new AtomicReference<>(config);
+    }
+
+    private CtrfConfig config() {
+        var loaded = config.get();
+        if (loaded == null) {
+            // Loading is idempotent, a concurrent first read at worst loads the properties twice
+            config.compareAndSet(null, ConfigFactory.create(CtrfConfig.class));
+            loaded = config.get();
+        }
+        return loaded;
     }
 
     public String getReportPath() {
-        return config.reportPath();
+        return config().reportPath();
+    }
+
+    public String getSessionId() {
+        return config().sessionId();
     }
 
     public int getMaxMessageLength() {
-        return config.maxMessageLength();
+        return config().maxMessageLength();
     }
 
     public String getJUnitVersion() {
-        return config.junitVersion();
+        return config().junitVersion();
     }
 
     public String getReportName() {
-        return config.reportName();
+        return config().reportName();
     }
 
     public String getAppName() {
-        return config.appName();
+        return config().appName();
     }
 
     public String getAppVersion() {
-        return config.appVersion();
+        return config().appVersion();
     }
 
     public String getBuildName() {
-        return config.buildName();
+        return config().buildName();
     }
 
     public String getBuildNumber() {
-        return config.buildNumber();
+        return config().buildNumber();
     }
 
     public String getBuildUrl() {
-        return config.buildUrl();
+        return config().buildUrl();
     }
 
     public String getRepositoryName() {
-        return config.repositoryName();
+        return config().repositoryName();
     }
 
     public String getRepositoryUrl() {
-        return config.repositoryUrl();
+        return config().repositoryUrl();
     }
 
     public String getCommit() {
-        return config.commit();
+        return config().commit();
     }
 
     public String getBranchName() {
-        return config.branchName();
+        return config().branchName();
     }
 
     public String getOsPlatform() {
-        return config.osPlatform();
+        return config().osPlatform();
     }
 
     public String getOsRelease() {
-        return config.osRelease();
+        return config().osRelease();
     }
 
     public String getOsVersion() {
-        return config.osVersion();
+        return config().osVersion();
     }
 
     public String getTestEnvironment() {
-        return config.testEnvironment();
+        return config().testEnvironment();
     }
 
     public boolean calculateStartupDuration() {
-        return config.calculateStartupDuration();
+        return config().calculateStartupDuration();
+    }
+
+    public long getFinishAwaitTimeoutMs() {
+        return config().finishAwaitTimeoutMs();
+    }
+
+    public int getMaxInFlightTests() {
+        return config().maxInFlightTests();
+    }
+
+    public long getWatchdogThresholdMs() {
+        return config().watchdogThresholdMs();
+    }
+
+    public long getWatchdogSampleIntervalMs() {
+        return config().watchdogSampleIntervalMs();
+    }
+
+    public int getWatchdogMaxSamples() {
+        return config().watchdogMaxSamples();
+    }
+
+    public long getShutdownTimeoutMs() {
+        return config().shutdownTimeoutMs();
+    }
+
+    public String getJsonWriter() {
+        return config().jsonWriter();
+    }
+
+    public boolean recordReporterOverhead() {
+        return config().recordReporterOverhead();
+    }
+
+    public boolean isJmxEnabled() {
+        return config().jmxEnabled();
+    }
+
+    public boolean recordTestResources() {
+        return config().recordTestResources();
+    }
+
+    public boolean recordTestContention() {
+        return config().recordTestContention();
+    }
+
+    public int getContentionTopTests() {
+        return config().contentionTopTests();
+    }
+
+    public boolean recordGcPauses() {
+        return config().recordGcPauses();
+    }
+
+    public boolean isJfrRecordingEnabled() {
+        return config().jfrRecordingEnabled();
+    }
+
+    public long getJfrSlowTestThresholdMs() {
+        return config().jfrSlowTestThresholdMs();
+    }
+
+    public long getJfrMaxSizeMb() {
+        return config().jfrMaxSizeMb();
+    }
+
+    public long getProfilerThresholdMs() {
+        return config().profilerThresholdMs();
+    }
+
+    public long getProfilerIntervalMs() {
+        return config().profilerIntervalMs();
+    }
+
+    public int getProfilerTopFrames() {
+        return config().profilerTopFrames();
+    }
+
+    public boolean recordResourceLeaks() {
+        return config().recordResourceLeaks();
+    }
+
+    public int getLeakTopEntries() {
+        return config().leakTopEntries();
+    }
+
+    public long getResourceTimelineIntervalMs() {
+        return config().resourceTimelineIntervalMs();
+    }
+
+    public boolean recordContainerLimits() {
+        return config().recordContainerLimits();
+    }
+
+    public boolean recordHostFingerprint() {
+        return config().recordHostFingerprint();
+    }
+
+    public boolean recordStartupBreakdown() {
+        return config().recordStartupBreakdown();
+    }
+
+    public int getDiscoveryTopSelectors() {
+        return config().discoveryTopSelectors();
     }
 }
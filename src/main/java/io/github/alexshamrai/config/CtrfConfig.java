@@ -29,6 +29,9 @@ public interface CtrfConfig extends Config {
     @DefaultValue("ctrf-report.json")
     String reportPath();
 
+    @Key("ctrf.session.id")
+    String sessionId();
+
     @Key("ctrf.max.message.length")
     @DefaultValue("500")
     int maxMessageLength();
@@ -81,4 +84,108 @@ public interface CtrfConfig extends Config {
     @Key("ctrf.calculate.startup.duration")
     @DefaultValue("false")
     boolean calculateStartupDuration();
+
+    @Key("ctrf.finish.await.timeout.ms")
+    @DefaultValue("2000")
+    long finishAwaitTimeoutMs();
+
+    @Key("ctrf.max.in.flight.tests")
+    @DefaultValue("0")
+    int maxInFlightTests();
+
+    @Key("ctrf.watchdog.threshold.ms")
+    @DefaultValue("0")
+    long watchdogThresholdMs();
+
+    @Key("ctrf.watchdog.sample.interval.ms")
+    @DefaultValue("10000")
+    long watchdogSampleIntervalMs();
+
+    @Key("ctrf.watchdog.max.samples")
+    @DefaultValue("3")
+    int watchdogMaxSamples();
+
+    @Key("ctrf.shutdown.timeout.ms")
+    @DefaultValue("3000")
+    long shutdownTimeoutMs();
+
+    @Key("ctrf.json.writer")
+    @DefaultValue("jackson")
+    String jsonWriter();
+
+    @Key("ctrf.record.reporter.overhead")
+    @DefaultValue("false")
+    boolean recordReporterOverhead();
+
+    @Key("ctrf.jmx.enabled")
+    @DefaultValue("false")
+    boolean jmxEnabled();
+
+    @Key("ctrf.record.test.resources")
+    @DefaultValue("false")
+    boolean recordTestResources();
+
+    @Key("ctrf.record.test.contention")
+    @DefaultValue("false")
+    boolean recordTestContention();
+
+    @Key("ctrf.contention.top.tests")
+    @DefaultValue("10")
+    int contentionTopTests();
+
+    @Key("ctrf.record.gc.pauses")
+    @DefaultValue("false")
+    boolean recordGcPauses();
+
+    @Key("ctrf.jfr.recording.enabled")
+    @DefaultValue("false")
+    boolean jfrRecordingEnabled();
+
+    @Key("ctrf.jfr.slow.test.threshold.ms")
+    @DefaultValue("10000")
+    long jfrSlowTestThresholdMs();
+
+    @Key("ctrf.jfr.max.size.mb")
+    @DefaultValue("64")
+    long jfrMaxSizeMb();
+
+    @Key("ctrf.profiler.threshold.ms")
+    @DefaultValue("0")
+    long profilerThresholdMs();
+
+    @Key("ctrf.profiler.interval.ms")
+    @DefaultValue("20")
+    long profilerIntervalMs();
+
+    @Key("ctrf.profiler.top.frames")
+    @DefaultValue("10")
+    int profilerTopFrames();
+
+    @Key("ctrf.record.resource.leaks")
+    @DefaultValue("false")
+    boolean recordResourceLeaks();
+
+    @Key("ctrf.leak.top.entries")
+    @DefaultValue("10")
+    int leakTopEntries();
+
+    @Key("ctrf.resource.timeline.interval.ms")
+    @DefaultValue("0")
+    long resourceTimelineIntervalMs();
+
+    @Key("ctrf.record.container.limits")
+    @DefaultValue("false")
+    boolean recordContainerLimits();
+
+    @Key("ctrf.record.host.fingerprint")
+    @DefaultValue("false")
+    boolean recordHostFingerprint();
+
+    @Key("ctrf.record.startup.breakdown")
+    @DefaultValue("false")
+    boolean recordStartupBreakdown();
+
+    @Key("ctrf.discovery.top.selectors")
+    @DefaultValue("10")
+    int discoveryTopSelectors();
 }
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -18,4 +19,30 @@ public class Extra {
 
     private Map<String, Object> customData;
     private Long startupDuration;
+    private String carrierThread;
+    private Integer lateResults;
+    private List<String> stallSamples;
+    private Boolean partial;
+    private Map<String, Object> reporterOverhead;
+    private Long cpuTimeMicros;
+    private Long allocatedBytes;
+    private Long blockedCount;
+    private Long blockedTimeMs;
+    private Long waitedCount;
+    private Long waitedTimeMs;
+    private List<Map<String, Object>> mostContendedTests;
+    private Long gcCount;
+    private Long gcPauseMs;
+    private Double gcPauseTestTimePercent;
+    private Long heapUsedDeltaBytes;
+    private Map<String, Object> profile;
+    private Long leakedThreads;
+    private Long leakedFileDescriptors;
+    private Long leakedBufferBytes;
+    private List<Map<String, Object>> worstLeakers;
+    private Map<String, Object> resourceTimeline;
+    private Map<String, Object> resourceLimits;
+    private Map<String, Object> hostFingerprint;
+    private Map<String, Object> startupBreakdown;
+    private Map<String, Object> discovery;
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package io.github.alexshamrai.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a phase of writing the report: {@code compose}, {@code serialize} or {@code write}.
+ * <p>
+ * Phases are begun through {@link ReporterEvents}, which skips them when JFR is not available. Usage follows
+ * the JFR pattern, and costs one allocation that escape analysis usually removes when the event is disabled:
+ * <pre>
+ * {@code
+ * var event = ReporterEvents.beginPhase(ReportPhaseEvent.COMPOSE);
+ * // compose the report
+ * event.finish(tests.size(), 0);
+ * }
+ * </pre>
+ */
+@Name(ReportPhaseEvent.NAME)
+@Label("Report Phase")
+@Category({"JUnit", "CTRF"})
+@Description("A phase of writing the CTRF report")
+@Enabled(false)
+@StackTrace(false)
+public class ReportPhaseEvent extends Event implements ReporterEvents.Phase {
+
+    public static final String NAME = "io.github.alexshamrai.ReportPhase";
+    public static final String COMPOSE = "compose";
+    public static final String SERIALIZE = "serialize";
+    public static final String WRITE = "write";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Tests")
+    private int tests;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    static ReportPhaseEvent begin(String phase) {
+        var event = new ReportPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.begin();
+        }
+        return event;
+    }
+
+    @Override
+    public boolean isRecorded() {
+        return isEnabled();
+    }
+
+    /**
+     * Ends the phase and commits the event if it is recorded.
+     *
+     * @param tests the number of tests in the report
+     * @param bytes the size of the serialized report, or {@code 0} if not known in this phase
+     */
+    @Override
+    public void finish(int tests, long bytes) {
+        if (isEnabled()) {
+            end();
+            if (shouldCommit()) {
+                this.tests = tests;
+                this.bytes = bytes;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.alexshamrai.jfr;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+
+/**
+ * Emits the reporter's JFR events.
+ * <p>
+ * The {@code jdk.jfr} module is optional, a runtime image built with {@code jlink} may not contain it. Its
+ * presence is checked once, and without it the events are skipped and the event classes are never loaded.
+ * Events are committed only when they are enabled in a recording.
+ */
+public final class ReporterEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private ReporterEvents() {
+    }
+
+    /**
+     * Returns whether the {@code jdk.jfr} module is present in the runtime.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static void testStarted(TestDetails details) {
+        if (AVAILABLE) {
+            TestStartedEvent.emit(details);
+        }
+    }
+
+    public static void testFinished(TestDetails details, Test test) {
+        if (AVAILABLE) {
+            TestFinishedEvent.emit(details, test);
+        }
+    }
+
+    /**
+     * Begins a phase of writing the report, see {@link ReportPhaseEvent}.
+     *
+     * @param phase one of {@link ReportPhaseEvent#COMPOSE}, {@link ReportPhaseEvent#SERIALIZE} or
+     *              {@link ReportPhaseEvent#WRITE}
+     * @return the phase to finish, which does nothing when the event is not recorded
+     */
+    public static Phase beginPhase(String phase) {
+        return AVAILABLE ? ReportPhaseEvent.begin(phase) : Phase.NOT_RECORDED;
+    }
+
+    /**
+     * A phase of writing the report.
+     */
+    public interface Phase {
+
+        Phase NOT_RECORDED = new Phase() {
+            @Override
+            public boolean isRecorded() {
+                return false;
+            }
+
+            @Override
+            public void finish(int tests, long bytes) {
+            }
+        };
+
+        /**
+         * Returns whether the phase is recorded, i.e. JFR is available and the event is enabled.
+         */
+        boolean isRecorded();
+
+        /**
+         * Ends the phase.
+         *
+         * @param tests the number of tests in the report
+         * @param bytes the size of the serialized report, or {@code 0} if not known in this phase
+         */
+        void finish(int tests, long bytes);
+    }
+}
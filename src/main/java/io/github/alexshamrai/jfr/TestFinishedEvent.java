@@ -0,0 +1,57 @@
+package io.github.alexshamrai.jfr;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted when a test reports its result.
+ * <p>
+ * The event is committed by the thread reporting the result. The thread that started the test is recorded
+ * as {@code testThread}, and the time since the start as {@code testDuration}.
+ */
+@Name(TestFinishedEvent.NAME)
+@Label("Test Finished")
+@Category({"JUnit", "CTRF"})
+@Description("A test reported its result")
+@Enabled(false)
+@StackTrace(false)
+public class TestFinishedEvent extends Event {
+
+    public static final String NAME = "io.github.alexshamrai.TestFinished";
+
+    @Label("Test Name")
+    private String testName;
+
+    @Label("Unique Id")
+    private String uniqueId;
+
+    @Label("Status")
+    private String status;
+
+    @Label("Test Thread")
+    private Thread testThread;
+
+    @Label("Test Duration")
+    @Timespan(Timespan.MILLISECONDS)
+    private long testDuration;
+
+    static void emit(TestDetails details, Test test) {
+        var event = new TestFinishedEvent();
+        if (event.isEnabled()) {
+            event.testName = test.getName();
+            event.uniqueId = details.getUniqueId();
+            event.status = test.getStatus() != null ? test.getStatus().toLowerCase() : null;
+            event.testThread = details.getThread();
+            event.testDuration = test.getDuration();
+            event.commit();
+        }
+    }
+}
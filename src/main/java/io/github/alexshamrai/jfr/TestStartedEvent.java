@@ -0,0 +1,47 @@
+package io.github.alexshamrai.jfr;
+
+import io.github.alexshamrai.model.TestDetails;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a test starts.
+ * <p>
+ * Like all CTRF events it is disabled by default and has to be enabled in the recording settings,
+ * e.g. {@code jfr configure +io.github.alexshamrai.TestStarted#enabled=true}. It is emitted through
+ * {@link ReporterEvents}.
+ */
+@Name(TestStartedEvent.NAME)
+@Label("Test Started")
+@Category({"JUnit", "CTRF"})
+@Description("A test started")
+@Enabled(false)
+@StackTrace(false)
+public class TestStartedEvent extends Event {
+
+    public static final String NAME = "io.github.alexshamrai.TestStarted";
+
+    @Label("Test Name")
+    private String testName;
+
+    @Label("Unique Id")
+    private String uniqueId;
+
+    @Label("Test Thread")
+    private Thread testThread;
+
+    static void emit(TestDetails details) {
+        var event = new TestStartedEvent();
+        if (event.isEnabled()) {
+            event.testName = details.getDisplayName();
+            event.uniqueId = details.getUniqueId();
+            event.testThread = details.getThread();
+            event.commit();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.alexshamrai.jupiter;
 
 import io.github.alexshamrai.CtrfReportManager;
+import io.github.alexshamrai.launcher.LauncherDiscovery;
 import io.github.alexshamrai.model.TestDetails;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -26,45 +27,84 @@ import java.util.Optional;
  * <p>
  * The extension can be configured through a {@code ctrf.properties} file placed in the classpath.
  * See the README for all available configuration options.
+ * <p>
+ * The collected results are kept in the root {@link ExtensionContext.Store}, so every launcher
+ * session gets its own report even when several sessions run concurrently in one JVM.
  */
 public class CtrfExtension implements TestRunExtension, BeforeEachCallback, TestWatcher {
 
-    private final CtrfReportManager reportManager = CtrfReportManager.getInstance();
     private static final String GENERATED_BY = "io.github.alexshamrai.jupiter.CtrfExtension";
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CtrfExtension.class);
+    private static final ExtensionContext.Namespace DISCOVERY_NAMESPACE =
+        ExtensionContext.Namespace.create(LauncherDiscovery.SESSION_STORE_NAMESPACE);
 
     @Override
     public void beforeAllTests(ExtensionContext context) {
-        reportManager.startTestRun(GENERATED_BY);
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.startTestRun(GENERATED_BY, context::getConfigurationParameter, launcherDiscovery(context));
+        manager.stopTiming("extension.beforeAllTests", start);
     }
 
     @Override
     public void afterAllTests(ExtensionContext context) {
-        reportManager.finishTestRun(Optional.of(context));
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.finishTestRun(Optional.of(context));
+        manager.stopTiming("extension.afterAllTests", start);
     }
 
     @Override
     public void beforeEach(ExtensionContext context) {
-        reportManager.onTestStart(createTestDetails(context));
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.onTestStart(createTestDetails(context));
+        manager.stopTiming("extension.beforeEach", start);
     }
 
     @Override
     public void testSuccessful(ExtensionContext context) {
-        reportManager.onTestSuccess(context.getUniqueId());
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.onTestSuccess(context.getUniqueId());
+        manager.stopTiming("extension.testSuccessful", start);
     }
 
     @Override
     public void testFailed(ExtensionContext context, Throwable cause) {
-        reportManager.onTestFailure(context.getUniqueId(), cause);
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.onTestFailure(context.getUniqueId(), cause);
+        manager.stopTiming("extension.testFailed", start);
     }
 
     @Override
     public void testAborted(ExtensionContext context, Throwable cause) {
-        reportManager.onTestAborted(context.getUniqueId(), cause);
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.onTestAborted(context.getUniqueId(), cause);
+        manager.stopTiming("extension.testAborted", start);
     }
 
     @Override
     public void testDisabled(ExtensionContext context, Optional<String> reason) {
-        reportManager.onTestSkipped(createTestDetails(context), reason);
+        var manager = reportManager(context);
+        long start = manager.startTiming();
+        manager.onTestSkipped(createTestDetails(context), reason);
+        manager.stopTiming("extension.testDisabled", start);
+    }
+
+    private CtrfReportManager reportManager(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(CtrfReportManager.class, key -> CtrfReportManager.create(), CtrfReportManager.class);
+    }
+
+    /**
+     * Returns the discovery that {@code CtrfDiscoveryListener} timed for the launcher session, if registered.
+     */
+    private LauncherDiscovery launcherDiscovery(ExtensionContext context) {
+        return context.getStore(ExtensionContext.StoreScope.LAUNCHER_SESSION, DISCOVERY_NAMESPACE)
+            .get(LauncherDiscovery.SESSION_STORE_KEY, LauncherDiscovery.class);
     }
 
     private TestDetails createTestDetails(ExtensionContext context) {
@@ -0,0 +1,99 @@
+package io.github.alexshamrai.launcher;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryListener;
+import org.junit.platform.engine.EngineDiscoveryResult;
+import org.junit.platform.engine.SelectorResolutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.store.Namespace;
+import org.junit.platform.engine.support.store.NamespacedHierarchicalStore;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * JUnit Platform LauncherDiscoveryListener that times the test discovery for the CTRF report.
+ * <p>
+ * The discovery as a whole, every engine's discovery and every selector an engine resolved are timed, and
+ * the summary of the report lists them with the slowest selectors. The discovery is also the second phase
+ * of the startup breakdown.
+ * <p>
+ * Register it next to {@link CtrfListener} or {@code CtrfExtension} as a launcher session listener, by creating
+ * a file named {@code org.junit.platform.launcher.LauncherSessionListener} in the {@code META-INF/services}
+ * directory:
+ * <pre>
+ * {@code
+ * io.github.alexshamrai.launcher.CtrfDiscoveryListener
+ * }
+ * </pre>
+ * Every launcher session then gets its own discovery listener, which keeps the discovery in the session's store,
+ * so sessions running concurrently in one JVM never report each other's discovery. Registered as a plain
+ * {@code LauncherDiscoveryListener}, the discovery is only known to {@link CtrfListener}.
+ */
+public class CtrfDiscoveryListener implements LauncherSessionListener, LauncherDiscoveryListener {
+
+    private final NamespacedHierarchicalStore<Namespace> sessionStore;
+    private volatile LauncherDiscovery discovery;
+
+    public CtrfDiscoveryListener() {
+        this(null);
+    }
+
+    private CtrfDiscoveryListener(NamespacedHierarchicalStore<Namespace> sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        session.getLauncher().registerLauncherDiscoveryListeners(new CtrfDiscoveryListener(session.getStore()));
+    }
+
+    @Override
+    public void launcherDiscoveryStarted(LauncherDiscoveryRequest request) {
+        discovery = LauncherDiscovery.started();
+    }
+
+    @Override
+    public void launcherDiscoveryFinished(LauncherDiscoveryRequest request) {
+        var current = discovery;
+        if (current != null) {
+            LauncherDiscovery.finished(current, request.getConfigurationParameters());
+            if (sessionStore != null) {
+                sessionStore.put(LauncherDiscovery.SESSION_NAMESPACE, LauncherDiscovery.SESSION_STORE_KEY, current);
+            }
+        }
+    }
+
+    @Override
+    public void engineDiscoveryStarted(UniqueId engineId) {
+        var current = discovery;
+        if (current != null) {
+            current.engineStarted(engineName(engineId));
+        }
+    }
+
+    @Override
+    public void engineDiscoveryFinished(UniqueId engineId, EngineDiscoveryResult result) {
+        var current = discovery;
+        if (current != null) {
+            current.engineFinished(engineName(engineId), result.getStatus().name());
+        }
+    }
+
+    /**
+     * Called by the engines through {@link EngineDiscoveryListener} once they resolved a selector.
+     */
+    @Override
+    public void selectorProcessed(UniqueId engineId, DiscoverySelector selector, SelectorResolutionResult result) {
+        var current = discovery;
+        if (current != null) {
+            var name = selector.toIdentifier().map(Object::toString).orElseGet(selector::toString);
+            current.selectorProcessed(engineName(engineId), name, result.getStatus().name());
+        }
+    }
+
+    private static String engineName(UniqueId engineId) {
+        return engineId.getEngineId().orElseGet(engineId::toString);
+    }
+}
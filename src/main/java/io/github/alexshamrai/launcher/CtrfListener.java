@@ -11,6 +11,7 @@ import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -42,52 +43,87 @@ import java.util.stream.Collectors;
  * <p>
  * The listener can be configured through a {@code ctrf.properties} file placed in the classpath.
  * See the README for all available configuration options.
+ * <p>
+ * Each listener instance keeps its own results, and the JUnit Platform creates a new instance for every
+ * launcher. When launchers run concurrently in one JVM, each of them writes its own report.
+ * Register a separate instance per launcher when registering the listener programmatically.
+ * <p>
+ * The report manager, and with it the configuration, is only created by the first callback, so registering
+ * the listener costs nothing in JVMs that create a launcher without executing tests.
  */
 public class CtrfListener implements TestExecutionListener {
 
-    private final CtrfReportManager reportManager = CtrfReportManager.getInstance();
     private static final String GENERATED_BY = "io.github.alexshamrai.launcher.CtrfListener";
+    private final AtomicReference<CtrfReportManager> reportManager = new AtomicReference<>();
 
     @Override
     public void testPlanExecutionStarted(TestPlan testPlan) {
-        reportManager.startTestRun(GENERATED_BY);
+        var manager = reportManager();
+        long start = manager.startTiming();
+        manager.startTestRun(GENERATED_BY, key -> testPlan.getConfigurationParameters().get(key), LauncherDiscovery.of(testPlan));
+        manager.onTestPlanDiscovered(testPlan);
+        manager.stopTiming("listener.testPlanExecutionStarted", start);
     }
 
     @Override
     public void testPlanExecutionFinished(TestPlan testPlan) {
-        reportManager.finishTestRun(Optional.empty());
+        var manager = reportManager();
+        long start = manager.startTiming();
+        manager.finishTestRun(Optional.empty());
+        manager.stopTiming("listener.testPlanExecutionFinished", start);
     }
 
     @Override
     public void executionStarted(TestIdentifier testIdentifier) {
         if (testIdentifier.isTest()) {
-            reportManager.onTestStart(createTestDetails(testIdentifier));
+            var manager = reportManager();
+            long start = manager.startTiming();
+            manager.onTestStart(createTestDetails(testIdentifier));
+            manager.stopTiming("listener.executionStarted", start);
         }
     }
 
     @Override
     public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
         if (testIdentifier.isTest()) {
+            var manager = reportManager();
+            long start = manager.startTiming();
             String uniqueId = testIdentifier.getUniqueId();
             switch (testExecutionResult.getStatus()) {
                 case SUCCESSFUL:
-                    reportManager.onTestSuccess(uniqueId);
+                    manager.onTestSuccess(uniqueId);
                     break;
                 case FAILED:
-                    reportManager.onTestFailure(uniqueId, testExecutionResult.getThrowable().orElse(null));
+                    manager.onTestFailure(uniqueId, testExecutionResult.getThrowable().orElse(null));
                     break;
                 case ABORTED:
-                    reportManager.onTestAborted(uniqueId, testExecutionResult.getThrowable().orElse(null));
+                    manager.onTestAborted(uniqueId, testExecutionResult.getThrowable().orElse(null));
                     break;
             }
+            manager.stopTiming("listener.executionFinished", start);
         }
     }
 
     @Override
     public void executionSkipped(TestIdentifier testIdentifier, String reason) {
         if (testIdentifier.isTest()) {
-            reportManager.onTestSkipped(createTestDetails(testIdentifier), Optional.ofNullable(reason));
+            var manager = reportManager();
+            long start = manager.startTiming();
+            manager.onTestSkipped(createTestDetails(testIdentifier), Optional.ofNullable(reason));
+            manager.stopTiming("listener.executionSkipped", start);
+        }
+    }
+
+    private CtrfReportManager reportManager() {
+        var manager = reportManager.get();
+        if (manager == null) {
+            // A manager that loses the race is dropped. Its constructor reads the configuration and may enable the
+            // JVM-wide thread CPU time and contention monitoring, which the winning manager enables as well, but
+            // threads, MBeans and the report session are only acquired when the run starts
+            reportManager.compareAndSet(null, CtrfReportManager.create());
+            manager = reportManager.get();
         }
+        return manager;
     }
 
     private TestDetails createTestDetails(TestIdentifier testIdentifier) {
@@ -0,0 +1,217 @@
+package io.github.alexshamrai.launcher;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.store.Namespace;
+import org.junit.platform.launcher.TestPlan;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of a test discovery of the launcher, recorded by {@code CtrfDiscoveryListener}.
+ * <p>
+ * The discovery listener and the reporter are separate instances created by the JUnit Platform, so a finished
+ * discovery is published for the run that follows it, scoped to its own launcher: by the configuration
+ * parameters of the discovery request, which the discovered {@link TestPlan} carries, and in the store of the
+ * launcher session, where {@code CtrfExtension} finds it. Along with the start and finish times, the number of
+ * classes the JVM loaded so far is recorded, to tell class loading apart from the discovery itself.
+ * <p>
+ * Each engine's discovery is timed, and so is each selector it resolved: the JUnit Platform only reports
+ * when a selector was processed, so a selector's time is measured from the previous selector of the same
+ * engine, or from the start of the engine's discovery. Only the {@value #MAX_SLOWEST_SELECTORS} slowest
+ * selectors are kept, so discovering huge classpaths costs constant memory.
+ */
+public final class LauncherDiscovery {
+
+    /**
+     * The namespace of the discovery in the store of the launcher session.
+     */
+    public static final String SESSION_STORE_NAMESPACE = LauncherDiscovery.class.getName();
+    /**
+     * The key of the discovery in the store of the launcher session.
+     */
+    public static final String SESSION_STORE_KEY = "discovery";
+    static final Namespace SESSION_NAMESPACE = Namespace.create(SESSION_STORE_NAMESPACE);
+    static final int MAX_SLOWEST_SELECTORS = 100;
+    private static final Comparator<SelectorTiming> BY_DURATION = Comparator.comparingLong(timing -> timing.durationNanos);
+    // Weak keys, the discovery lives as long as the request's configuration parameters
+    private static final Map<ConfigurationParameters, LauncherDiscovery> BY_REQUEST = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final long startTime;
+    private final long startLoadedClasses;
+    private volatile long finishTime = -1;
+    private volatile long finishLoadedClasses = -1;
+    // Guarded by this, the listener callbacks and the report may run on different threads
+    private final Map<String, EngineTiming> engines = new LinkedHashMap<>();
+    private final PriorityQueue<SelectorTiming> slowestSelectors = new PriorityQueue<>(BY_DURATION);
+
+    private LauncherDiscovery(long startTime, long startLoadedClasses) {
+        this.startTime = startTime;
+        this.startLoadedClasses = startLoadedClasses;
+    }
+
+    /**
+     * Records the start of a discovery.
+     *
+     * @return the discovery, to be passed to {@link #finished(LauncherDiscovery, ConfigurationParameters)}
+     */
+    static LauncherDiscovery started() {
+        return new LauncherDiscovery(System.currentTimeMillis(), loadedClasses());
+    }
+
+    /**
+     * Records the end of a discovery and publishes it for the test plan discovered with the given parameters.
+     */
+    static void finished(LauncherDiscovery discovery, ConfigurationParameters configurationParameters) {
+        discovery.finishLoadedClasses = loadedClasses();
+        // Written last, a finish time makes the loaded classes visible
+        discovery.finishTime = System.currentTimeMillis();
+        if (configurationParameters != null) {
+            BY_REQUEST.put(configurationParameters, discovery);
+        }
+    }
+
+    /**
+     * Returns the discovery of the given test plan, or {@code null} if it was not timed.
+     */
+    public static LauncherDiscovery of(TestPlan testPlan) {
+        return BY_REQUEST.get(testPlan.getConfigurationParameters());
+    }
+
+    /**
+     * Returns whether the discovery finished before the given time, e.g. the start of a run. A discovery that
+     * finished later was not the one of that run.
+     */
+    public boolean isFinishedBefore(long time) {
+        long finish = finishTime;
+        return finish >= 0 && finish <= time;
+    }
+
+    private static long loadedClasses() {
+        return ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+    }
+
+    synchronized void engineStarted(String engineId) {
+        engines.put(engineId, new EngineTiming(System.nanoTime()));
+    }
+
+    /**
+     * Records that an engine resolved a selector.
+     *
+     * @param engineId the unique id of the engine
+     * @param selector the selector, e.g. {@code class:com.example.MyTest}
+     * @param status   the resolution status, e.g. {@code RESOLVED}
+     */
+    synchronized void selectorProcessed(String engineId, String selector, String status) {
+        var engine = engines.get(engineId);
+        if (engine == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        slowestSelectors.add(new SelectorTiming(engineId, selector, status, now - engine.lastEventNanos));
+        if (slowestSelectors.size() > MAX_SLOWEST_SELECTORS) {
+            slowestSelectors.poll();
+        }
+        engine.lastEventNanos = now;
+        engine.selectors++;
+    }
+
+    synchronized void engineFinished(String engineId, String status) {
+        var engine = engines.get(engineId);
+        if (engine != null) {
+            engine.durationNanos = System.nanoTime() - engine.startNanos;
+            engine.status = status;
+        }
+    }
+
+    /**
+     * Describes the discovery as its duration and loaded classes, the timings of its engines and its slowest
+     * selectors, slowest first.
+     *
+     * @param topSelectors the maximum number of selectors to list
+     */
+    public synchronized Map<String, Object> describe(int topSelectors) {
+        var description = new LinkedHashMap<String, Object>();
+        description.put("durationMs", finishTime - startTime);
+        description.put("loadedClasses", finishLoadedClasses - startLoadedClasses);
+        List<Map<String, Object>> engineList = new ArrayList<>();
+        engines.forEach((engineId, engine) -> {
+            var entry = new LinkedHashMap<String, Object>();
+            entry.put("engine", engineId);
+            entry.put("durationMs", TimeUnit.NANOSECONDS.toMillis(engine.durationNanos));
+            entry.put("selectors", engine.selectors);
+            if (engine.status != null) {
+                entry.put("status", engine.status);
+            }
+            engineList.add(entry);
+        });
+        description.put("engines", engineList);
+
+        var slowest = new ArrayList<>(slowestSelectors);
+        slowest.sort(BY_DURATION.reversed());
+        List<Map<String, Object>> selectorList = new ArrayList<>();
+        for (SelectorTiming timing : slowest.subList(0, Math.min(Math.max(topSelectors, 0), slowest.size()))) {
+            var entry = new LinkedHashMap<String, Object>();
+            entry.put("engine", timing.engineId);
+            entry.put("selector", timing.selector);
+            entry.put("durationMs", TimeUnit.NANOSECONDS.toMillis(timing.durationNanos));
+            entry.put("status", timing.status);
+            selectorList.add(entry);
+        }
+        if (!selectorList.isEmpty()) {
+            description.put("slowestSelectors", selectorList);
+        }
+        return description;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getStartLoadedClasses() {
+        return startLoadedClasses;
+    }
+
+    public long getFinishTime() {
+        return finishTime;
+    }
+
+    public long getFinishLoadedClasses() {
+        return finishLoadedClasses;
+    }
+
+    private static final class EngineTiming {
+        private final long startNanos;
+        private long lastEventNanos;
+        private long durationNanos;
+        private int selectors;
+        private String status;
+
+        private EngineTiming(long startNanos) {
+            this.startNanos = startNanos;
+            this.lastEventNanos = startNanos;
+        }
+    }
+
+    private static final class SelectorTiming {
+        private final String engineId;
+        private final String selector;
+        private final String status;
+        private final long durationNanos;
+
+        private SelectorTiming(String engineId, String selector, String status, long durationNanos) {
+            this.engineId = engineId;
+            this.selector = selector;
+            this.status = status;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
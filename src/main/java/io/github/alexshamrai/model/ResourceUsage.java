@@ -0,0 +1,16 @@
+package io.github.alexshamrai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Live platform threads, open file descriptors and memory used by direct and mapped buffers of the JVM,
+ * or the change of these between two points in time. A value is {@code null} when it cannot be read.
+ */
+@Data
+@AllArgsConstructor
+public class ResourceUsage {
+    private Long threads;
+    private Long fileDescriptors;
+    private Long bufferBytes;
+}
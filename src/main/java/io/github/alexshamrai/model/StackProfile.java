@@ -0,0 +1,56 @@
+package io.github.alexshamrai.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stack samples of a slow test, aggregated into folded stacks: the frames from the root of the stack to its top,
+ * each as {@code class.method}, joined by {@code ;}, with the number of samples that had this stack.
+ * <p>
+ * A stack deeper than the maximum depth keeps its top frames and gets a {@value #TRUNCATED_FRAME} root frame,
+ * so flame graphs do not show the deepest kept frame as a root of the test.
+ */
+public final class StackProfile {
+
+    public static final String TRUNCATED_FRAME = "[truncated]";
+
+    private final Map<String, Long> foldedStacks = new ConcurrentHashMap<>();
+    private final AtomicInteger samples = new AtomicInteger();
+
+    /**
+     * Adds a sample.
+     *
+     * @param stackTrace the stack, top frame first; pass more than {@code maxDepth} frames to mark it truncated
+     * @param maxDepth   the number of top frames to keep
+     */
+    public void add(StackTraceElement[] stackTrace, int maxDepth) {
+        int depth = Math.min(stackTrace.length, maxDepth);
+        if (depth == 0) {
+            return;
+        }
+        var folded = new StringBuilder();
+        if (stackTrace.length > maxDepth) {
+            folded.append(TRUNCATED_FRAME).append(';');
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            folded.append(stackTrace[i].getClassName()).append('.').append(stackTrace[i].getMethodName());
+            if (i > 0) {
+                folded.append(';');
+            }
+        }
+        foldedStacks.merge(folded.toString(), 1L, Long::sum);
+        samples.incrementAndGet();
+    }
+
+    public int getSamples() {
+        return samples.get();
+    }
+
+    /**
+     * Returns the number of samples per folded stack.
+     */
+    public Map<String, Long> getFoldedStacks() {
+        return Map.copyOf(foldedStacks);
+    }
+}
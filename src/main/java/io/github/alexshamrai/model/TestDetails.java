@@ -3,6 +3,7 @@ package io.github.alexshamrai.model;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
 import java.util.Set;
 
 @Data
@@ -13,4 +14,25 @@ public class TestDetails {
     private String filePath;
     private String uniqueId;
     private String displayName;
+    private Thread thread;
+    private volatile List<String> stallSamples;
+    @Builder.Default
+    private long startCpuTimeNanos = -1;
+    @Builder.Default
+    private long startAllocatedBytes = -1;
+    @Builder.Default
+    private long cpuTimeNanos = -1;
+    @Builder.Default
+    private long allocatedBytes = -1;
+    private ThreadContention startContention;
+    private ThreadContention contention;
+    @Builder.Default
+    private long startHeapUsedBytes = -1;
+    private Long heapUsedDeltaBytes;
+    private volatile long gcPauseMs;
+    private volatile int gcCount;
+    private volatile StackProfile profile;
+    private long startSequence;
+    private ResourceUsage startResources;
+    private ResourceUsage leakedResources;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package io.github.alexshamrai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Blocked and waited counters of a thread, as reported by {@code ThreadInfo}.
+ * Times are in milliseconds, or {@code -1} when thread contention monitoring is not available.
+ */
+@Data
+@AllArgsConstructor
+public class ThreadContention {
+    private long blockedCount;
+    private long blockedTimeMs;
+    private long waitedCount;
+    private long waitedTimeMs;
+}
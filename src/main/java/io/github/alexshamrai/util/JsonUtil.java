@@ -0,0 +1,225 @@
+package io.github.alexshamrai.util;
+
+import io.github.alexshamrai.ctrf.model.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal JSON writer for the CTRF model, used instead of Jackson when {@code ctrf.json.writer=builtin}.
+ * <p>
+ * It produces the same output as the Jackson {@code ObjectMapper} of {@code CtrfReportFileService} for the
+ * model classes: properties in declaration order, {@code null} values omitted and test statuses in lower case.
+ * Avoiding Jackson on the write path saves loading and initializing it in short-lived test JVMs.
+ * Other objects, e.g. inside {@code customData}, are written field by field. Objects whose fields cannot be made
+ * accessible, e.g. of a JDK class in a module that is not opened, are written as their {@code toString()}.
+ * A value that contains itself is written as {@code null} where it recurs, instead of recursing endlessly.
+ */
+public class JsonUtil {
+
+    // Holds null for types whose fields cannot be made accessible
+    private static final ClassValue<Field[]> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            var properties = new ArrayList<Field>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                var index = 0;
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (InaccessibleObjectException | SecurityException e) {
+                        return null;
+                    }
+                    // Superclass properties come first, like in Jackson
+                    properties.add(index++, field);
+                }
+            }
+            return properties.toArray(new Field[0]);
+        }
+    };
+
+    public static String toJson(Object value) {
+        var writer = new StringWriter();
+        try {
+            write(value, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes a value as JSON.
+     *
+     * @param value the value to write
+     * @param out   the writer to write to; it is neither flushed nor closed
+     * @throws IOException if writing fails
+     */
+    public static void write(Object value, Writer out) throws IOException {
+        write(value, out, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * Writes a value as JSON.
+     *
+     * @param enclosing the maps, collections, arrays and objects currently being written around the value
+     */
+    private static void write(Object value, Writer out, Set<Object> enclosing) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            writeString(value.toString(), out);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.write(Double.isFinite(number) ? value.toString() : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.write(value.toString());
+        } else if (value instanceof Test.TestStatus) {
+            writeString(((Test.TestStatus) value).toLowerCase(), out);
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name(), out);
+        } else if (!enclosing.add(value)) {
+            out.write("null");
+        } else {
+            try {
+                writeContainer(value, out, enclosing);
+            } finally {
+                enclosing.remove(value);
+            }
+        }
+    }
+
+    private static void writeContainer(Object value, Writer out, Set<Object> enclosing) throws IOException {
+        if (value instanceof Map) {
+            writeMap((Map<?, ?>) value, out, enclosing);
+        } else if (value instanceof Iterable) {
+            writeIterable((Iterable<?>) value, out, enclosing);
+        } else if (value.getClass().isArray()) {
+            writeArray(value, out, enclosing);
+        } else {
+            writeObject(value, out, enclosing);
+        }
+    }
+
+    private static void writeMap(Map<?, ?> map, Writer out, Set<Object> enclosing) throws IOException {
+        out.write('{');
+        var first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeString(String.valueOf(entry.getKey()), out);
+            out.write(':');
+            write(entry.getValue(), out, enclosing);
+        }
+        out.write('}');
+    }
+
+    private static void writeIterable(Iterable<?> values, Writer out, Set<Object> enclosing) throws IOException {
+        out.write('[');
+        var first = true;
+        for (Object element : values) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            write(element, out, enclosing);
+        }
+        out.write(']');
+    }
+
+    private static void writeArray(Object array, Writer out, Set<Object> enclosing) throws IOException {
+        out.write('[');
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            write(Array.get(array, i), out, enclosing);
+        }
+        out.write(']');
+    }
+
+    private static void writeObject(Object value, Writer out, Set<Object> enclosing) throws IOException {
+        var properties = PROPERTIES.get(value.getClass());
+        if (properties == null) {
+            writeString(value.toString(), out);
+            return;
+        }
+        out.write('{');
+        var first = true;
+        for (Field field : properties) {
+            Object property;
+            try {
+                property = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+            if (property == null) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeString(field.getName(), out);
+            out.write(':');
+            write(property, out, enclosing);
+        }
+        out.write('}');
+    }
+
+    private static void writeString(String value, Writer out) throws IOException {
+        out.write('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escaped = escape(c);
+            if (escaped != null) {
+                out.write(value, start, i - start);
+                out.write(escaped);
+                start = i + 1;
+            }
+        }
+        out.write(value, start, length - start);
+        out.write('"');
+    }
+
+    private static String escape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            case '\b':
+                return "\\b";
+            case '\f':
+                return "\\f";
+            default:
+                return c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.alexshamrai.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Describes threads in a way that also works for virtual threads.
+ * <p>
+ * Virtual threads are unnamed by default, so their name cannot identify them in the report.
+ * The library is compiled for Java 17, so {@code Thread.isVirtual()} is looked up once at class
+ * initialization and treated as {@code false} on runtimes that do not have it.
+ */
+public class ThreadUtil {
+
+    private static final String VIRTUAL_THREAD_PREFIX = "virtual-";
+    private static final String THREAD_PREFIX = "thread-";
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the identifier stored as the {@code threadId} of a test.
+     * <p>
+     * Named threads are identified by their name, unnamed ones by their id,
+     * e.g. {@code virtual-42} for an unnamed virtual thread.
+     *
+     * @param thread the thread to describe
+     * @return a non-empty identifier of the thread
+     */
+    @SuppressWarnings("deprecation")
+    public static String describe(Thread thread) {
+        var name = thread.getName();
+        if (name != null && !name.isEmpty()) {
+            return name;
+        }
+        return (isVirtual(thread) ? VIRTUAL_THREAD_PREFIX : THREAD_PREFIX) + thread.getId();
+    }
+
+    /**
+     * Returns the name of the carrier thread a virtual thread is currently mounted on.
+     * <p>
+     * There is no public API for the carrier, but a mounted virtual thread reports it in
+     * {@link Thread#toString()}, e.g. {@code VirtualThread[#21]/runnable@ForkJoinPool-1-worker-1}.
+     *
+     * @param thread the thread to inspect
+     * @return the carrier thread name, or {@code null} for platform threads and unmounted virtual threads
+     */
+    public static String carrierOf(Thread thread) {
+        if (!isVirtual(thread)) {
+            return null;
+        }
+        var description = thread.toString();
+        int separator = description.lastIndexOf('@');
+        return separator >= 0 && separator < description.length() - 1 ? description.substring(separator + 1) : null;
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup()
+                .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
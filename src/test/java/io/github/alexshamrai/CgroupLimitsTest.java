@@ -0,0 +1,134 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CgroupLimitsTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("cgroup v2 limits and the throttling during the run should be described")
+    void describe_readsCgroupV2() throws IOException {
+        writeCgroup("cgroup.controllers", "cpu memory");
+        writeCgroup("cpu.max", "150000 100000");
+        writeCgroup("memory.max", "2147483648");
+        writeCgroup("cpu.stat", "usage_usec 500\nnr_periods 100\nnr_throttled 10\nthrottled_usec 40000");
+        var limits = new CgroupLimits(root);
+
+        limits.start();
+        writeCgroup("cpu.stat", "usage_usec 900\nnr_periods 300\nnr_throttled 60\nthrottled_usec 2040000");
+        var description = limits.describe();
+
+        assertEquals(2, description.get("cgroupVersion"));
+        assertEquals(150000L, description.get("cpuQuotaUs"));
+        assertEquals(100000L, description.get("cpuPeriodUs"));
+        assertEquals(1.5, description.get("cpuLimit"));
+        assertEquals(2147483648L, description.get("memoryLimitBytes"));
+        assertEquals(200L, description.get("cpuPeriods"));
+        assertEquals(50L, description.get("cpuThrottledPeriods"));
+        assertEquals(2000L, description.get("cpuThrottledTimeMs"));
+        assertEquals(25.0, description.get("cpuThrottledPercent"));
+        assertEquals(Runtime.getRuntime().availableProcessors(), description.get("availableProcessors"));
+    }
+
+    @Test
+    @DisplayName("Unlimited cgroup v1 resources should not be described as limits")
+    void describe_readsUnlimitedCgroupV1() throws IOException {
+        writeCgroup("cpu/cpu.cfs_quota_us", "-1");
+        writeCgroup("cpu/cpu.cfs_period_us", "100000");
+        writeCgroup("cpu/cpu.stat", "nr_periods 0\nnr_throttled 0\nthrottled_time 0");
+        writeCgroup("memory/memory.limit_in_bytes", "9223372036854771712");
+        var limits = new CgroupLimits(root);
+
+        limits.start();
+        var description = limits.describe();
+
+        assertEquals(1, description.get("cgroupVersion"));
+        assertFalse(description.containsKey("cpuQuotaUs"));
+        assertFalse(description.containsKey("memoryLimitBytes"));
+        assertEquals(0L, description.get("cpuThrottledTimeMs"));
+        assertFalse(description.containsKey("cpuThrottledPercent"));
+    }
+
+    @Test
+    @DisplayName("The limits of the own cgroup v2 should be read from the path in /proc/self/cgroup")
+    void describe_readsOwnCgroupV2() throws IOException {
+        write("proc/self/cgroup", "0::/ci.slice/job-1.scope");
+        writeCgroup("cgroup.controllers", "cpu memory");
+        writeCgroup("cpu.max", "max 100000");
+        writeCgroup("memory.max", "max");
+        writeCgroup("ci.slice/job-1.scope/cpu.max", "50000 100000");
+        writeCgroup("ci.slice/job-1.scope/memory.max", "1073741824");
+        var limits = new CgroupLimits(root);
+
+        var description = limits.describe();
+
+        assertEquals(0.5, description.get("cpuLimit"));
+        assertEquals(1073741824L, description.get("memoryLimitBytes"));
+    }
+
+    @Test
+    @DisplayName("The limits of the own cgroup v1 should be read below the mount point of each controller")
+    void describe_readsOwnCgroupV1() throws IOException {
+        write("proc/self/cgroup", "12:memory:/docker/abc\n4:cpu,cpuacct:/docker/abc\n1:name=systemd:/init.scope");
+        writeCgroup("cpu,cpuacct/cpu.cfs_quota_us", "-1");
+        writeCgroup("cpu,cpuacct/cpu.cfs_period_us", "100000");
+        writeCgroup("cpu,cpuacct/docker/abc/cpu.cfs_quota_us", "300000");
+        writeCgroup("cpu,cpuacct/docker/abc/cpu.cfs_period_us", "100000");
+        writeCgroup("memory/docker/abc/memory.limit_in_bytes", "536870912");
+        var limits = new CgroupLimits(root);
+
+        var description = limits.describe();
+
+        assertEquals(1, description.get("cgroupVersion"));
+        assertEquals(3.0, description.get("cpuLimit"));
+        assertEquals(536870912L, description.get("memoryLimitBytes"));
+    }
+
+    @Test
+    @DisplayName("A cgroup path that is not visible below the mount point should fall back to the cgroup root")
+    void describe_withInvisibleOwnCgroup_readsCgroupRoot() throws IOException {
+        write("proc/self/cgroup", "0::/../outside");
+        writeCgroup("cgroup.controllers", "cpu memory");
+        writeCgroup("cpu.max", "200000 100000");
+        var limits = new CgroupLimits(root);
+
+        var description = limits.describe();
+
+        assertEquals(2.0, description.get("cpuLimit"));
+    }
+
+    @Test
+    @DisplayName("Without a cgroup file system only the JVM's own limits should be described")
+    void describe_withoutCgroups() {
+        var limits = new CgroupLimits(root.resolve("missing"));
+
+        limits.start();
+        var description = limits.describe();
+
+        assertFalse(description.containsKey("cgroupVersion"));
+        assertTrue(description.containsKey("maxHeapBytes"));
+        assertTrue(description.containsKey("garbageCollectors"));
+    }
+
+    private void writeCgroup(String file, String content) throws IOException {
+        write("sys/fs/cgroup/" + file, content);
+    }
+
+    private void write(String file, String content) throws IOException {
+        var path = root.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
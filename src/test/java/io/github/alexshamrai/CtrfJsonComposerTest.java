@@ -82,6 +82,18 @@ public class CtrfJsonComposerTest {
         assertEquals("mockedOsRelease", environment.getOsRelease());
         assertEquals("mockedOsVersion", environment.getOsVersion());
         assertEquals("mockedTestEnvironment", environment.getTestEnvironment());
+        assertNull(environment.getExtra());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testGenerateCtrfJsonWithContainerLimits() {
+        var limitsComposer = new CtrfJsonComposer(configReader, startupDurationProcessor, "Listener", new CgroupLimits(), null, true);
+
+        var result = limitsComposer.generateCtrfJson(Summary.builder().build(), List.of());
+
+        var resourceLimits = result.getResults().getEnvironment().getExtra().getResourceLimits();
+        assertEquals(Runtime.getRuntime().availableProcessors(), resourceLimits.get("availableProcessors"));
+        assertEquals(Runtime.getRuntime().maxMemory(), resourceLimits.get("maxHeapBytes"));
     }
 
     @org.junit.jupiter.api.Test
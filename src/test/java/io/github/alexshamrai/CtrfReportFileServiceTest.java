@@ -1,5 +1,6 @@
 package io.github.alexshamrai;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.alexshamrai.config.ConfigReader;
 import io.github.alexshamrai.config.CtrfConfig;
 import io.github.alexshamrai.ctrf.model.CtrfJson;
@@ -114,6 +115,57 @@ public class CtrfReportFileServiceTest {
         return new ConfigReader(mockConfig);
     }
 
+    @Test
+    void shouldWriteToSessionSpecificFileWhenBoundToSecondarySlot() throws IOException {
+        var sessionPath = Paths.get("ctrf-1.json");
+        try {
+            ctrfReportFileService.bindToSession(1);
+
+            ctrfReportFileService.writeResultsToFile(ctrfJson);
+
+            assertThat(Files.exists(sessionPath)).isTrue();
+            assertThat(Files.exists(Paths.get(filePath))).isFalse();
+        } finally {
+            Files.deleteIfExists(sessionPath);
+        }
+    }
+
+    @Test
+    void shouldNotMergePreviousReportWhenBoundToSecondarySlot() throws IOException {
+        var sessionPath = Paths.get("ctrf-1.json");
+        try {
+            ctrfReportFileService.bindToSession(1);
+            ctrfReportFileService.writeResultsToFile(reportWithTest("Stale"));
+
+            assertThat(ctrfReportFileService.getExistingTests()).isEmpty();
+        } finally {
+            Files.deleteIfExists(sessionPath);
+        }
+    }
+
+    @Test
+    void shouldWriteAndMergeReportNamedBySessionId() throws IOException {
+        var customConfig = new HashMap<String, String>();
+        customConfig.put("ctrf.report.path", filePath);
+        customConfig.put("ctrf.session.id", "api");
+        var sessionService = new CtrfReportFileService(new ConfigReader(ConfigFactory.create(CtrfConfig.class, customConfig)));
+        var sessionPath = Paths.get("ctrf-api.json");
+        try {
+            sessionService.bindToSession(1);
+            sessionService.writeResultsToFile(reportWithTest("Rerun"));
+
+            assertThat(Files.exists(sessionPath)).isTrue();
+            assertThat(sessionService.getExistingTests()).extracting("name").containsExactly("Rerun");
+        } finally {
+            Files.deleteIfExists(sessionPath);
+        }
+    }
+
+    private static CtrfJson reportWithTest(String name) {
+        var test = io.github.alexshamrai.ctrf.model.Test.builder().name(name).build();
+        return CtrfJson.builder().results(Results.builder().tests(List.of(test)).build()).build();
+    }
+
     @Test
     void shouldReturnEmptyListWhenReportFileDoesNotExist() {
         List<io.github.alexshamrai.ctrf.model.Test> tests = ctrfReportFileService.getExistingTests();
@@ -182,4 +234,26 @@ public class CtrfReportFileServiceTest {
 
         assertThat(existingStartTime).isNull();
     }
+
+    @Test
+    void shouldWriteSameReportWithBuiltinWriter() throws IOException {
+        var customConfig = new HashMap<String, String>();
+        customConfig.put("ctrf.report.path", filePath);
+        customConfig.put("ctrf.json.writer", "builtin");
+        ctrfReportFileService = new CtrfReportFileService(new ConfigReader(ConfigFactory.create(CtrfConfig.class, customConfig)));
+        var tests = new ArrayList<io.github.alexshamrai.ctrf.model.Test>();
+        tests.add(io.github.alexshamrai.ctrf.model.Test.builder()
+            .name("test \"quoted\"")
+            .status(io.github.alexshamrai.ctrf.model.Test.TestStatus.FAILED)
+            .trace("line 1\nline 2")
+            .build());
+        ctrfJson = CtrfJson.builder().results(Results.builder().tests(tests).build()).build();
+
+        ctrfReportFileService.writeResultsToFile(ctrfJson);
+
+        var objectMapper = new ObjectMapper();
+        var written = objectMapper.readTree(Paths.get(filePath).toFile());
+        assertThat(written).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(ctrfJson)));
+        assertThat(ctrfReportFileService.getExistingTests()).hasSize(1);
+    }
 }
@@ -0,0 +1,290 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.config.CtrfConfig;
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Summary;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.github.alexshamrai.ctrf.model.Test.TestStatus.FAILED;
+import static io.github.alexshamrai.ctrf.model.Test.TestStatus.PASSED;
+import static io.github.alexshamrai.ctrf.model.Test.TestStatus.SKIPPED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a real {@link CtrfReportManager} from many threads and checks the invariants of the written reports.
+ * <p>
+ * Tagged {@code stress} and run by the {@code stressTest} Gradle task. Each scenario repeats rounds for
+ * {@code stress.duration.seconds} (default 10) with {@code stress.threads} reporting threads (default four per
+ * processor, at least 16) and {@code stress.tests.per.thread} tests per thread and round (default 500).
+ */
+@Tag("stress")
+class CtrfReportManagerStressTest {
+
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("stress.duration.seconds", 10));
+    private static final int THREADS = Integer.getInteger("stress.threads",
+        Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+    private static final int TESTS_PER_THREAD = Integer.getInteger("stress.tests.per.thread", 500);
+    private static final Set<String> TAGS = Set.of("stress");
+    private static final AssertionError FAILURE = new AssertionError("expected: <1> but was: <2>");
+
+    private final ConfigReader configReader = new ConfigReader(ConfigFactory.create(CtrfConfig.class, Map.of(
+        "ctrf.finish.await.timeout.ms", "5",
+        "ctrf.shutdown.timeout.ms", "0")));
+    private ExecutorService executor;
+    private CapturingFileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS + 2);
+        fileService = new CapturingFileService(configReader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @org.junit.jupiter.api.Test
+    void concurrentRuns_reportEveryResultWithCorrectRetries() throws Exception {
+        long deadline = System.nanoTime() + DURATION_NANOS;
+        int rounds = 0;
+        do {
+            runRound(rounds++);
+        } while (System.nanoTime() - deadline < 0);
+    }
+
+    @org.junit.jupiter.api.Test
+    void finishingWhileTestsReport_losesNoResult() throws Exception {
+        var manager = createReportManager();
+        var stop = new AtomicBoolean();
+        var reportedResults = new AtomicLong();
+        manager.startTestRun("stress");
+
+        var workers = new ArrayList<Future<?>>();
+        for (int worker = 0; worker < THREADS; worker++) {
+            int workerId = worker;
+            workers.add(executor.submit(() -> {
+                for (long i = 0; !stop.get(); i++) {
+                    var details = details("w" + workerId + "-" + i, "racing-" + workerId + "-" + i);
+                    manager.onTestStart(details);
+                    manager.onTestSuccess(details.getUniqueId());
+                    reportedResults.incrementAndGet();
+                }
+            }));
+        }
+        // Two threads finish and restart the run at the same time while the workers keep reporting
+        var restarters = new ArrayList<Future<?>>();
+        for (int i = 0; i < 2; i++) {
+            restarters.add(executor.submit(() -> {
+                while (!stop.get()) {
+                    manager.finishTestRun(Optional.empty());
+                    manager.startTestRun("stress");
+                    Thread.onSpinWait();
+                }
+            }));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(DURATION_NANOS);
+        stop.set(true);
+        for (Future<?> future : restarters) {
+            future.get();
+        }
+        for (Future<?> future : workers) {
+            future.get();
+        }
+        manager.startTestRun("stress");
+        manager.finishTestRun(Optional.empty());
+
+        // Every test is either reported with its result, reported as incomplete or counted as a late result, never twice
+        var reportsPerTest = new HashMap<String, Long>();
+        long lateResults = 0;
+        for (CtrfJson report : fileService.reports) {
+            var tests = report.getResults().getTests();
+            assertSummaryMatches(report.getResults().getSummary(), tests);
+            tests.forEach(test -> reportsPerTest.merge(test.getName(), 1L, Long::sum));
+            var extra = report.getResults().getSummary().getExtra();
+            if (extra != null && extra.getLateResults() != null) {
+                lateResults += extra.getLateResults();
+            }
+        }
+        assertThat(fileService.reports.size()).isGreaterThan(1);
+        assertThat(reportsPerTest).as("tests reported more than once")
+            .allSatisfy((name, reports) -> assertThat(reports).as(name).isEqualTo(1L));
+        assertThat(reportsPerTest.keySet()).as("reported tests").allMatch(name -> name.startsWith("racing-"));
+        assertThat(reportsPerTest.size() + lateResults).as("reported, incomplete and late tests").isEqualTo(reportedResults.get());
+    }
+
+    /**
+     * All threads start the run, report their tests and finish the run at the same time. Every thread reports
+     * passed, failed and skipped tests, tests that fail and pass on a retry, and tests with a name shared by all threads.
+     */
+    private void runRound(int round) throws Exception {
+        fileService.reports.clear();
+        var manager = createReportManager();
+        var start = new CountDownLatch(1);
+        var reported = new CyclicBarrier(THREADS);
+
+        var workers = new ArrayList<Future<?>>();
+        for (int worker = 0; worker < THREADS; worker++) {
+            int workerId = worker;
+            workers.add(executor.submit(() -> {
+                start.await();
+                manager.startTestRun("stress");
+                for (int i = 0; i < TESTS_PER_THREAD; i++) {
+                    report(manager, workerId, i);
+                }
+                reported.await();
+                manager.finishTestRun(Optional.empty());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : workers) {
+            future.get();
+        }
+
+        assertThat(fileService.reports).as("reports written in round %d", round).hasSize(1);
+        var results = fileService.reports.peek().getResults();
+        var tests = results.getTests();
+        assertThat(tests).hasSize(THREADS * expectedResultsPerThread());
+        assertSummaryMatches(results.getSummary(), tests);
+        assertThat(results.getSummary().getExtra()).isNull();
+        assertRetriesAndFlaky(tests);
+    }
+
+    private void report(CtrfReportManager manager, int worker, int index) {
+        var id = "w" + worker + "-" + index;
+        switch (index % 5) {
+            case 0:
+                reportResult(manager, details(id, "passed-" + id), PASSED);
+                break;
+            case 1:
+                reportResult(manager, details(id, "failed-" + id), FAILED);
+                break;
+            case 2:
+                manager.onTestSkipped(details(id, "skipped-" + id), Optional.of("disabled"));
+                break;
+            case 3:
+                reportResult(manager, details(id, "retried-" + id), FAILED);
+                reportResult(manager, details(id + "-retry", "retried-" + id), PASSED);
+                break;
+            default:
+                reportResult(manager, details(id, "shared-" + index), PASSED);
+                break;
+        }
+    }
+
+    private static int expectedResultsPerThread() {
+        return IntStream.range(0, TESTS_PER_THREAD).map(index -> index % 5 == 3 ? 2 : 1).sum();
+    }
+
+    private static void reportResult(CtrfReportManager manager, TestDetails details, Test.TestStatus status) {
+        manager.onTestStart(details);
+        if (status == PASSED) {
+            manager.onTestSuccess(details.getUniqueId());
+        } else {
+            manager.onTestFailure(details.getUniqueId(), FAILURE);
+        }
+    }
+
+    private static void assertSummaryMatches(Summary summary, List<Test> tests) {
+        assertThat(summary.getTests()).isEqualTo(tests.size());
+        assertThat(summary.getPassed()).isEqualTo(count(tests, PASSED));
+        assertThat(summary.getFailed()).isEqualTo(count(tests, FAILED));
+        assertThat(summary.getSkipped()).isEqualTo(count(tests, SKIPPED));
+        assertThat(summary.getPassed() + summary.getFailed() + summary.getSkipped() + summary.getPending() + summary.getOther())
+            .isEqualTo(tests.size());
+    }
+
+    private static long count(List<Test> tests, Test.TestStatus status) {
+        return tests.stream().filter(test -> test.getStatus() == status).count();
+    }
+
+    /**
+     * Runs with the same name are reruns: whichever order they were reported in, they get the retries
+     * 0 to n - 1 once each, and a passed rerun is flaky.
+     */
+    private static void assertRetriesAndFlaky(List<Test> tests) {
+        var runsByName = tests.stream().collect(Collectors.groupingBy(Test::getName));
+        runsByName.forEach((name, runs) -> {
+            var retries = runs.stream()
+                .map(test -> test.getRetries() != null ? test.getRetries() : 0)
+                .sorted()
+                .collect(Collectors.toList());
+            assertThat(retries).as("retries of %s", name)
+                .isEqualTo(IntStream.range(0, runs.size()).boxed().collect(Collectors.toList()));
+            for (Test run : runs) {
+                boolean expectedFlaky = run.getRetries() != null && run.getRetries() > 0 && run.getStatus() == PASSED;
+                assertThat(Boolean.TRUE.equals(run.getFlaky())).as("flaky flag of %s", name).isEqualTo(expectedFlaky);
+            }
+        });
+        assertThat(runsByName.get("shared-4")).hasSize(THREADS);
+    }
+
+    private CtrfReportManager createReportManager() {
+        var testProcessor = new TestProcessor(configReader);
+        return new CtrfReportManager(configReader, fileService, testProcessor, new SuiteExecutionErrorHandler(testProcessor),
+            new CtrfJsonComposer(configReader, new StartupDurationProcessor(), "stress"));
+    }
+
+    private static TestDetails details(String id, String displayName) {
+        return TestDetails.builder()
+            .uniqueId("[engine:stress]/[test:" + id + "]")
+            .displayName(displayName)
+            .tags(TAGS)
+            .filePath("io.github.alexshamrai.StressTest")
+            .build();
+    }
+
+    /**
+     * Keeps the written reports in memory and starts every run without a previous report.
+     */
+    private static final class CapturingFileService extends CtrfReportFileService {
+
+        private final Queue<CtrfJson> reports = new ConcurrentLinkedQueue<>();
+
+        CapturingFileService(ConfigReader configReader) {
+            super(configReader);
+        }
+
+        @Override
+        public void writeResultsToFile(CtrfJson ctrfJson) {
+            reports.add(ctrfJson);
+        }
+
+        @Override
+        public List<Test> getExistingTests() {
+            return List.of();
+        }
+
+        @Override
+        public Long getExistingStartTime() {
+            return null;
+        }
+    }
+}
@@ -1,27 +1,47 @@
 package io.github.alexshamrai;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.config.CtrfConfig;
 import io.github.alexshamrai.ctrf.model.CtrfJson;
 import io.github.alexshamrai.ctrf.model.Summary;
 import io.github.alexshamrai.ctrf.model.Test;
 import io.github.alexshamrai.model.TestDetails;
 import io.github.alexshamrai.util.SummaryUtil;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static io.github.alexshamrai.ctrf.model.Test.TestStatus.FAILED;
 import static io.github.alexshamrai.ctrf.model.Test.TestStatus.PASSED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -33,6 +53,8 @@ import static org.mockito.Mockito.when;
 
 class CtrfReportManagerTest {
 
+    @Mock
+    private ConfigReader configReader;
     @Mock
     private CtrfReportFileService ctrfReportFileService;
     @Mock
@@ -71,6 +93,61 @@ class CtrfReportManagerTest {
         verify(ctrfReportFileService, times(1)).getExistingTests();
     }
 
+    @org.junit.jupiter.api.Test
+    @DisplayName("startTestRun should bind the file service to the session report")
+    void startTestRun_bindsFileServiceToSession() {
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+
+        reportManager.startTestRun("Listener");
+        reportManager.finishTestRun(Optional.empty());
+
+        verify(ctrfReportFileService).bindToSession(anyInt());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Overlapping sessions should write separate reports without merging reports of other sessions")
+    void overlappingSessions_writeSeparateReports(@TempDir Path tempDir) throws IOException {
+        var reportPath = tempDir.resolve("ctrf-report.json").toString();
+        // Reports an earlier concurrent session left under the numbered slots, which must not count as reruns
+        var staleReport = "{\"results\":{\"tests\":[{\"name\":\"Shared Name\",\"status\":\"failed\"}]}}";
+        for (int slot = 1; slot <= 8; slot++) {
+            Files.writeString(Path.of(ReportSessions.resolveReportPath(reportPath, slot)), staleReport);
+        }
+        var config = new ConfigReader(ConfigFactory.create(CtrfConfig.class, Map.of("ctrf.report.path", reportPath)));
+        var failingSession = createSession(config);
+        var passingSession = createSession(config);
+
+        failingSession.startTestRun("Listener");
+        passingSession.startTestRun("Listener");
+        failingSession.onTestStart(TestDetails.builder().uniqueId("id-1").displayName("Shared Name").build());
+        passingSession.onTestStart(TestDetails.builder().uniqueId("id-1").displayName("Shared Name").build());
+        failingSession.onTestFailure("id-1", new AssertionError("failure"));
+        passingSession.onTestSuccess("id-1");
+        failingSession.finishTestRun(Optional.empty());
+        passingSession.finishTestRun(Optional.empty());
+
+        var reports = new ArrayList<CtrfJson>();
+        try (var files = Files.list(tempDir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                var report = new ObjectMapper().readValue(file.toFile(), CtrfJson.class);
+                if (report.getGeneratedBy() != null) {
+                    reports.add(report);
+                }
+            }
+        }
+        assertEquals(2, reports.size());
+        var statuses = reports.stream()
+            .map(report -> {
+                var tests = report.getResults().getTests();
+                assertEquals(1, tests.size());
+                assertNull(tests.get(0).getRetries());
+                assertNull(tests.get(0).getFlaky());
+                return tests.get(0).getStatus();
+            })
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(FAILED, PASSED), statuses);
+    }
+
     @org.junit.jupiter.api.Test
     @DisplayName("onTestStart should store test details in the map")
     void onTestStart_storesDetails() {
@@ -85,6 +162,16 @@ class CtrfReportManagerTest {
         verify(testProcessor).createTest(anyString(), any(TestDetails.class), anyLong());
     }
 
+    @org.junit.jupiter.api.Test
+    @DisplayName("onTestStart should record the thread running the test")
+    void onTestStart_recordsTestThread() {
+        var details = TestDetails.builder().uniqueId("id-1").displayName("Test Details").build();
+
+        reportManager.onTestStart(details);
+
+        assertEquals(Thread.currentThread(), details.getThread());
+    }
+
     @org.junit.jupiter.api.Test
     @DisplayName("onTestSuccess should process a successful test result")
     void onTestSuccess_processesResult() {
@@ -200,4 +287,240 @@ class CtrfReportManagerTest {
         verify(suiteExecutionErrorHandler).handleExecutionError(eq(extensionContext), eq(12345L), anyLong());
         verify(suiteExecutionErrorHandler, never()).handleInitializationError(any(), anyLong(), anyLong());
     }
-}
\ No newline at end of file
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("finishTestRun should count results still being reported after the timeout as late")
+    void finishTestRun_countsLateResults() throws Exception {
+        when(configReader.getFinishAwaitTimeoutMs()).thenReturn(50L);
+        reportManager = createReportManager();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(testProcessor.createTest(anyString(), any(TestDetails.class), anyLong())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return new Test();
+        });
+        reportManager.startTestRun("Listener");
+        reportManager.onTestStart(TestDetails.builder().uniqueId("id-1").displayName("Straggler").build());
+        var straggler = CompletableFuture.runAsync(() -> reportManager.onTestSuccess("id-1"));
+        entered.await();
+
+        reportManager.finishTestRun(Optional.empty());
+        release.countDown();
+        straggler.get(5, TimeUnit.SECONDS);
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        var testsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(ctrfJsonComposer).generateCtrfJson(summaryCaptor.capture(), testsCaptor.capture());
+        assertEquals(1, summaryCaptor.getValue().getExtra().getLateResults());
+        assertTrue(testsCaptor.getValue().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("finishTestRun should report tests without a result as incomplete")
+    void finishTestRun_reportsUnfinishedTestsAsIncomplete() {
+        var details = TestDetails.builder().uniqueId("id-1").displayName("Hanging Test").build();
+        var incompleteTest = Test.builder().name("Hanging Test").status(Test.TestStatus.OTHER).build();
+        when(testProcessor.createIncompleteTest(eq(details), anyLong(), eq("incomplete"))).thenReturn(incompleteTest);
+
+        reportManager.startTestRun("Listener");
+        reportManager.onTestStart(details);
+        reportManager.finishTestRun(Optional.empty());
+
+        var testsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(ctrfJsonComposer).generateCtrfJson(any(), testsCaptor.capture());
+        assertEquals(List.of(incompleteTest), testsCaptor.getValue());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("writePartialReport should report collected results and interrupted tests of an unfinished run")
+    void writePartialReport_reportsInterruptedTests() {
+        when(configReader.getShutdownTimeoutMs()).thenReturn(5000L);
+        reportManager = createReportManager();
+        var finished = TestDetails.builder().uniqueId("id-1").displayName("Finished Test").build();
+        var running = TestDetails.builder().uniqueId("id-2").displayName("Running Test").build();
+        var finishedTest = Test.builder().name("Finished Test").trace("trace").build();
+        var interruptedTest = Test.builder().name("Running Test").status(Test.TestStatus.OTHER).build();
+        when(testProcessor.createTest(anyString(), any(TestDetails.class), anyLong())).thenReturn(finishedTest);
+        when(testProcessor.createIncompleteTest(eq(running), anyLong(), eq("interrupted"))).thenReturn(interruptedTest);
+
+        reportManager.startTestRun("Listener");
+        reportManager.onTestStart(finished);
+        reportManager.onTestFailure("id-1", new AssertionError());
+        reportManager.onTestStart(running);
+        reportManager.writePartialReport();
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        var testsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(ctrfJsonComposer).generateCtrfJson(summaryCaptor.capture(), testsCaptor.capture());
+        assertEquals(List.of(finishedTest, interruptedTest), testsCaptor.getValue());
+        assertTrue(summaryCaptor.getValue().getExtra().getPartial());
+        verify(testProcessor).capTrace(finishedTest);
+        verify(ctrfReportFileService).writeResultsToFile(any());
+        verify(suiteExecutionErrorHandler, never()).handleExecutionError(any(), anyLong(), anyLong());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Tests left in flight by a run should not count as running in the next run")
+    void finishTestRun_withLeakDetection_abandonsTestsInFlight() {
+        when(configReader.recordResourceLeaks()).thenReturn(true);
+        reportManager = createReportManager();
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+        when(testProcessor.createIncompleteTest(any(TestDetails.class), anyLong(), anyString())).thenReturn(new Test());
+
+        reportManager.startTestRun("Listener");
+        reportManager.onTestStart(TestDetails.builder().uniqueId("id-1").displayName("Hanging Test").build());
+        reportManager.finishTestRun(Optional.empty());
+        reportManager.startTestRun("Listener");
+        var next = TestDetails.builder().uniqueId("id-2").displayName("Next Test").build();
+        reportManager.onTestStart(next);
+
+        assertNotNull(next.getStartResources());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("finishTestRun should add the reporter overhead to the summary when enabled")
+    void finishTestRun_withReporterOverhead_addsTimingsToSummary() {
+        when(configReader.recordReporterOverhead()).thenReturn(true);
+        reportManager = createReportManager();
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+        when(testProcessor.createTest(anyString(), any(TestDetails.class), anyLong())).thenReturn(Test.builder().name("Test").build());
+
+        reportManager.startTestRun("Listener");
+        long start = reportManager.startTiming();
+        reportManager.onTestStart(TestDetails.builder().uniqueId("id-1").displayName("Test").build());
+        reportManager.onTestFailure("id-1", new AssertionError());
+        reportManager.stopTiming("listener.executionFinished", start);
+        reportManager.finishTestRun(Optional.empty());
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        verify(ctrfJsonComposer).generateCtrfJson(summaryCaptor.capture(), anyList());
+        var overhead = summaryCaptor.getValue().getExtra().getReporterOverhead();
+        assertEquals(List.of("composition", "listener.executionFinished", "previousReportLoading", "traceFormatting"),
+            List.copyOf(overhead.keySet()));
+        assertEquals(1L, ((Map<?, ?>) overhead.get("traceFormatting")).get("count"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("startTestRun should drop the reporter overhead of a previous run")
+    void startTestRun_withReporterOverhead_resetsTimings() {
+        when(configReader.recordReporterOverhead()).thenReturn(true);
+        reportManager = createReportManager();
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+
+        reportManager.startTestRun("Listener");
+        reportManager.stopTiming("listener.executionFinished", reportManager.startTiming());
+        reportManager.finishTestRun(Optional.empty());
+        reportManager.startTestRun("Listener");
+        reportManager.finishTestRun(Optional.empty());
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        verify(ctrfJsonComposer, times(2)).generateCtrfJson(summaryCaptor.capture(), anyList());
+        var overhead = summaryCaptor.getAllValues().get(1).getExtra().getReporterOverhead();
+        assertFalse(overhead.containsKey("listener.executionFinished"));
+        assertEquals(1L, ((Map<?, ?>) overhead.get("previousReportLoading")).get("count"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("The report write and the callback finishing the run should be reported with the next run")
+    void startTestRun_withReporterOverhead_reportsPreviousReportWrite() {
+        when(configReader.recordReporterOverhead()).thenReturn(true);
+        reportManager = createReportManager();
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+
+        reportManager.startTestRun("Listener");
+        long start = reportManager.startTiming();
+        reportManager.finishTestRun(Optional.empty());
+        reportManager.stopTiming("listener.testPlanExecutionFinished", start);
+        reportManager.startTestRun("Listener");
+        reportManager.finishTestRun(Optional.empty());
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        verify(ctrfJsonComposer, times(2)).generateCtrfJson(summaryCaptor.capture(), anyList());
+        assertFalse(summaryCaptor.getAllValues().get(0).getExtra().getReporterOverhead().containsKey("reportWrite"));
+        var overhead = summaryCaptor.getAllValues().get(1).getExtra().getReporterOverhead();
+        assertFalse(overhead.containsKey("reportWrite"));
+        assertEquals(1L, ((Map<?, ?>) overhead.get("previousRun.reportWrite")).get("count"));
+        assertEquals(1L, ((Map<?, ?>) overhead.get("previousRun.listener.testPlanExecutionFinished")).get("count"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("finishTestRun should not add the reporter overhead by default")
+    void finishTestRun_byDefault_doesNotAddTimings() {
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+
+        reportManager.startTestRun("Listener");
+        assertEquals(0L, reportManager.startTiming());
+        reportManager.finishTestRun(Optional.empty());
+
+        var summaryCaptor = ArgumentCaptor.forClass(Summary.class);
+        verify(ctrfJsonComposer).generateCtrfJson(summaryCaptor.capture(), anyList());
+        assertNull(summaryCaptor.getValue().getExtra());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("writePartialReport should do nothing once the run finished normally")
+    void writePartialReport_afterFinishTestRun_doesNothing() {
+        when(configReader.getShutdownTimeoutMs()).thenReturn(5000L);
+        reportManager = createReportManager();
+
+        reportManager.startTestRun("Listener");
+        reportManager.finishTestRun(Optional.empty());
+        reportManager.writePartialReport();
+
+        verify(ctrfReportFileService, times(1)).writeResultsToFile(any());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("onTestStart should evict the oldest unfinished test when the in-flight limit is exceeded")
+    void onTestStart_evictsOldestInFlightTest() throws InterruptedException {
+        when(configReader.getMaxInFlightTests()).thenReturn(1);
+        reportManager = createReportManager();
+        var oldest = TestDetails.builder().uniqueId("id-1").displayName("Oldest Test").build();
+        var newest = TestDetails.builder().uniqueId("id-2").displayName("Newest Test").build();
+        when(testProcessor.createIncompleteTest(any(), anyLong(), anyString())).thenReturn(new Test());
+
+        reportManager.onTestStart(oldest);
+        Thread.sleep(5);
+        reportManager.onTestStart(newest);
+
+        verify(testProcessor).createIncompleteTest(eq(oldest), anyLong(), eq("evicted"));
+        verify(testProcessor, never()).createIncompleteTest(eq(newest), anyLong(), anyString());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A result of an evicted test should not be reported a second time")
+    void onTestSuccess_afterEviction_reportsEveryTestOnce() throws InterruptedException {
+        when(configReader.getMaxInFlightTests()).thenReturn(1);
+        reportManager = createReportManager();
+        var oldest = TestDetails.builder().uniqueId("id-1").displayName("Oldest Test").build();
+        var newest = TestDetails.builder().uniqueId("id-2").displayName("Newest Test").build();
+        when(testProcessor.createIncompleteTest(any(), anyLong(), anyString())).thenAnswer(invocation ->
+            Test.builder().name(invocation.<TestDetails>getArgument(0).getUniqueId()).status(Test.TestStatus.OTHER).build());
+        when(testProcessor.createTest(anyString(), any(), anyLong())).thenAnswer(invocation ->
+            Test.builder().name(invocation.<TestDetails>getArgument(1).getUniqueId()).build());
+        when(ctrfReportFileService.getExistingTests()).thenReturn(Collections.emptyList());
+
+        reportManager.startTestRun("Listener");
+        reportManager.onTestStart(oldest);
+        Thread.sleep(5);
+        reportManager.onTestStart(newest);
+        reportManager.onTestSuccess("id-1");
+        reportManager.onTestSuccess("id-2");
+        reportManager.finishTestRun(Optional.empty());
+
+        var testsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(ctrfJsonComposer).generateCtrfJson(any(), testsCaptor.capture());
+        List<Test> tests = testsCaptor.getValue();
+        assertEquals(List.of("id-1", "id-2"), tests.stream().map(Test::getName).sorted().collect(Collectors.toList()));
+    }
+
+    private static CtrfReportManager createSession(ConfigReader config) {
+        var processor = new TestProcessor(config);
+        return new CtrfReportManager(config, new CtrfReportFileService(config), processor, new SuiteExecutionErrorHandler(processor), null);
+    }
+
+    private CtrfReportManager createReportManager() {
+        return new CtrfReportManager(configReader, ctrfReportFileService, testProcessor, suiteExecutionErrorHandler, ctrfJsonComposer);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GcPauseTrackerTest {
+
+    private final InFlightTests inFlightTests = new InFlightTests(0);
+    private final GcPauseTracker tracker = new GcPauseTracker(() -> inFlightTests);
+
+    @AfterEach
+    void tearDown() {
+        tracker.stop();
+    }
+
+    @Test
+    @DisplayName("A collection should be attributed to the tests in flight and counted for the run")
+    void collection_isAttributedToInFlightTests() throws InterruptedException {
+        var details = TestDetails.builder().uniqueId("id-1").startTime(System.currentTimeMillis() - 1_000).build();
+        inFlightTests.start(details);
+        tracker.start();
+        tracker.testStarted(details);
+        Thread.sleep(5);
+
+        System.gc();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (details.getGcCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(details.getGcCount() > 0, "no collection was attributed");
+        assertTrue(details.getGcPauseMs() >= 0);
+        var extra = new Extra();
+        tracker.summarize(extra, System.currentTimeMillis() + 1);
+        assertTrue(extra.getGcCount() >= details.getGcCount());
+        assertNotNull(extra.getGcPauseTestTimePercent());
+    }
+
+    @Test
+    @DisplayName("Tests started after a collection should not get it attributed")
+    void collection_isNotAttributedToLaterTests() throws InterruptedException {
+        var details = TestDetails.builder().uniqueId("id-1").startTime(System.currentTimeMillis() + 60_000).build();
+        inFlightTests.start(details);
+        tracker.start();
+
+        System.gc();
+        Thread.sleep(200);
+
+        assertEquals(0, details.getGcCount());
+        assertEquals(0, details.getGcPauseMs());
+    }
+
+    @Test
+    @DisplayName("Starting a new run should count the totals from zero")
+    void start_resetsTotalsOfPreviousRun() throws InterruptedException {
+        var details = TestDetails.builder().uniqueId("id-1").startTime(System.currentTimeMillis() - 1_000).build();
+        inFlightTests.start(details);
+        tracker.start();
+        System.gc();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (details.getGcCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        tracker.stop();
+
+        tracker.start();
+        var extra = new Extra();
+        tracker.summarize(extra, System.currentTimeMillis() + 1);
+
+        assertTrue(details.getGcCount() > 0, "no collection was attributed");
+        assertEquals(0L, extra.getGcCount());
+        assertEquals(0L, extra.getGcPauseMs());
+    }
+
+    @Test
+    @DisplayName("The test time should be the time with at least one test in flight")
+    void testTimeMs_countsTimeWithTestsInFlight() throws InterruptedException {
+        var first = TestDetails.builder().build();
+        var second = TestDetails.builder().build();
+        tracker.start();
+        Thread.sleep(50);
+
+        long start = System.currentTimeMillis();
+        tracker.testStarted(first);
+        tracker.testStarted(second);
+        Thread.sleep(20);
+        tracker.testFinished(first);
+        Thread.sleep(20);
+        tracker.testFinished(second);
+        long stop = System.currentTimeMillis();
+        Thread.sleep(50);
+
+        long testTime = tracker.testTimeMs(System.currentTimeMillis());
+        assertTrue(testTime >= 40, "test time " + testTime);
+        assertTrue(testTime <= stop - start, "test time " + testTime);
+    }
+
+    @Test
+    @DisplayName("A test still in flight should count up to the given time")
+    void testTimeMs_countsTestStillInFlight() {
+        tracker.start();
+        tracker.testStarted(TestDetails.builder().build());
+
+        assertTrue(tracker.testTimeMs(System.currentTimeMillis() + 1_000) >= 1_000);
+    }
+
+    @Test
+    @DisplayName("The change of the used heap between start and result should be recorded")
+    void testFinished_recordsHeapDelta() {
+        var details = TestDetails.builder().build();
+
+        tracker.testStarted(details);
+        tracker.testFinished(details);
+
+        assertTrue(details.getStartHeapUsedBytes() > 0);
+        assertNotNull(details.getHeapUsedDeltaBytes());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HostFingerprintTest {
+
+    private static final String CPU_INFO = String.join("\n",
+        "processor\t: 0", "model name\t: Example CPU @ 3.00GHz", "physical id\t: 0", "core id\t\t: 0", "",
+        "processor\t: 1", "model name\t: Example CPU @ 3.00GHz", "physical id\t: 0", "core id\t\t: 0", "",
+        "processor\t: 2", "model name\t: Example CPU @ 3.00GHz", "physical id\t: 0", "core id\t\t: 1", "");
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("The CPU model and cores should be read from /proc/cpuinfo and a container detected")
+    void collect_readsCpuAndContainer() throws IOException {
+        Files.createDirectories(root.resolve("proc"));
+        Files.writeString(root.resolve("proc/cpuinfo"), CPU_INFO);
+        Files.createFile(root.resolve(".dockerenv"));
+
+        var fingerprint = new HostFingerprint(root).collect(key -> Optional.empty());
+
+        assertEquals("Example CPU @ 3.00GHz", fingerprint.get("cpuModel"));
+        assertEquals(2, fingerprint.get("cpuCores"));
+        assertNotNull(fingerprint.get("container"));
+        assertEquals(System.getProperty("java.vm.version"), fingerprint.get("jvmVersion"));
+        assertNotNull(fingerprint.get("garbageCollectors"));
+        assertEquals(Map.of("enabled", false), fingerprint.get("junitParallelism"));
+    }
+
+    @Test
+    @DisplayName("The parallelism in effect should be derived from the JUnit configuration")
+    @SuppressWarnings("unchecked")
+    void collect_describesJunitParallelism() {
+        var parameters = Map.of(
+            "junit.jupiter.execution.parallel.enabled", "true",
+            "junit.jupiter.execution.parallel.mode.default", "concurrent",
+            "junit.jupiter.execution.parallel.config.strategy", "fixed",
+            "junit.jupiter.execution.parallel.config.fixed.parallelism", "6");
+
+        var fingerprint = new HostFingerprint(root).collect(key -> Optional.ofNullable(parameters.get(key)));
+
+        var parallelism = (Map<String, Object>) fingerprint.get("junitParallelism");
+        assertEquals(true, parallelism.get("enabled"));
+        assertEquals("concurrent", parallelism.get("mode.default"));
+        assertEquals(6, parallelism.get("parallelism"));
+        assertFalse(fingerprint.containsKey("cpuModel"));
+    }
+
+    @Test
+    @DisplayName("The fingerprint should be collected in the background once the run started")
+    void describe_returnsFingerprintCollectedInBackground() {
+        var fingerprint = new HostFingerprint(root);
+        assertNull(fingerprint.describe(true));
+
+        fingerprint.start(key -> Optional.empty());
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), fingerprint.describe(true).get("availableProcessors"));
+    }
+
+    @Test
+    @DisplayName("Without waiting the fingerprint should only be returned once it is collected")
+    void describe_withoutWaiting_returnsOnlyCollectedFingerprint() {
+        var fingerprint = new HostFingerprint(root);
+        assertNull(fingerprint.describe(false));
+
+        fingerprint.start(key -> Optional.empty());
+        fingerprint.describe(true);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), fingerprint.describe(false).get("availableProcessors"));
+    }
+}
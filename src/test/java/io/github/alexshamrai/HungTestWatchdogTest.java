@@ -0,0 +1,92 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HungTestWatchdogTest {
+
+    private static final long THRESHOLD = 1_000L;
+    private static final long INTERVAL = 500L;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final InFlightTests inFlightTests = new InFlightTests(0);
+    private final HungTestWatchdog watchdog = new HungTestWatchdog(() -> inFlightTests, THRESHOLD, INTERVAL, 2);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void inspect_sleepsUntilThreshold_whenNoTestIsStalled() {
+        var details = startTest("id-1", 10_000L);
+
+        long nextCheck = watchdog.inspect(10_400L);
+
+        assertEquals(11_000L, nextCheck);
+        assertNull(details.getStallSamples());
+    }
+
+    @Test
+    void inspect_sleepsForWholeThreshold_whenNothingIsInFlight() {
+        assertEquals(10_000L + THRESHOLD, watchdog.inspect(10_000L));
+    }
+
+    @Test
+    void inspect_samplesStackOfStalledTest() {
+        var details = startTest("id-1", 10_000L);
+
+        long nextCheck = watchdog.inspect(11_000L);
+
+        assertEquals(11_500L, nextCheck);
+        assertEquals(1, details.getStallSamples().size());
+        var sample = details.getStallSamples().get(0);
+        assertTrue(sample.startsWith("Running for 1000 ms on thread \"stalled-test\" WAITING"), sample);
+        assertTrue(sample.contains("CountDownLatch.await"), sample);
+    }
+
+    @Test
+    void inspect_takesNextSampleOnlyWhenDue_andStopsAtMaxSamples() {
+        var details = startTest("id-1", 10_000L);
+
+        watchdog.inspect(11_000L);
+        watchdog.inspect(11_200L);
+        assertEquals(1, details.getStallSamples().size());
+
+        watchdog.inspect(11_500L);
+        assertEquals(2, details.getStallSamples().size());
+
+        assertEquals(13_000L + THRESHOLD, watchdog.inspect(13_000L));
+        assertEquals(2, details.getStallSamples().size());
+    }
+
+    private TestDetails startTest(String uniqueId, long startTime) {
+        var thread = new Thread(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "stalled-test");
+        thread.setDaemon(true);
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        var details = TestDetails.builder()
+            .uniqueId(uniqueId)
+            .displayName(uniqueId)
+            .startTime(startTime)
+            .thread(thread)
+            .build();
+        inFlightTests.start(details);
+        return details;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InFlightTestsTest {
+
+    @Test
+    void finish_returnsStartedTestOnce() {
+        var inFlightTests = new InFlightTests(0);
+        var details = details("id-1", 1000L);
+
+        assertTrue(inFlightTests.start(details).isEmpty());
+
+        assertSame(details, inFlightTests.finish("id-1"));
+        assertNull(inFlightTests.finish("id-1"));
+    }
+
+    @Test
+    void drain_returnsUnfinishedTestsOldestFirst() {
+        var inFlightTests = new InFlightTests(0);
+        var newer = details("id-2", 2000L);
+        var older = details("id-1", 1000L);
+        inFlightTests.start(newer);
+        inFlightTests.start(older);
+
+        var drained = inFlightTests.drain();
+
+        assertEquals(2, drained.size());
+        assertSame(older, drained.get(0));
+        assertSame(newer, drained.get(1));
+        assertEquals(0, inFlightTests.size());
+    }
+
+    @Test
+    void start_evictsOldestTestsBeyondCapacity() {
+        var inFlightTests = new InFlightTests(2);
+        var oldest = details("id-1", 1000L);
+        inFlightTests.start(oldest);
+        inFlightTests.start(details("id-2", 2000L));
+
+        var evicted = inFlightTests.start(details("id-3", 3000L));
+
+        assertEquals(1, evicted.size());
+        assertSame(oldest, evicted.get(0));
+        assertEquals(2, inFlightTests.size());
+        assertNull(inFlightTests.finish("id-1"));
+    }
+
+    @Test
+    void start_evictsOnlyTheExcess() {
+        var inFlightTests = new InFlightTests(20);
+        for (int i = 0; i < 20; i++) {
+            inFlightTests.start(details("id-" + i, i));
+        }
+
+        var evicted = inFlightTests.start(details("id-20", 20L));
+
+        assertEquals(1, evicted.size());
+        assertEquals(20, inFlightTests.size());
+    }
+
+    @Test
+    void forgetEvicted_recognizesEvictedTestOnce() {
+        var inFlightTests = new InFlightTests(1);
+        inFlightTests.start(details("id-1", 1000L));
+        inFlightTests.start(details("id-2", 2000L));
+
+        assertTrue(inFlightTests.forgetEvicted("id-1"));
+        assertFalse(inFlightTests.forgetEvicted("id-1"));
+        assertFalse(inFlightTests.forgetEvicted("id-2"));
+    }
+
+    @Test
+    void forgetEvicted_remembersAtMostCapacityTests() {
+        var inFlightTests = new InFlightTests(1);
+        for (int i = 0; i < 4; i++) {
+            inFlightTests.start(details("id-" + i, i));
+        }
+
+        assertFalse(inFlightTests.forgetEvicted("id-1"));
+        assertTrue(inFlightTests.forgetEvicted("id-2"));
+    }
+
+    @Test
+    void start_neverEvictsWithoutCapacity() {
+        var inFlightTests = new InFlightTests(0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(inFlightTests.start(details("id-" + i, i)).isEmpty());
+        }
+
+        assertEquals(100, inFlightTests.size());
+    }
+
+    private static TestDetails details(String uniqueId, long startTime) {
+        return TestDetails.builder().uniqueId(uniqueId).displayName(uniqueId).startTime(startTime).build();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeriodicSamplerTest {
+
+    @Test
+    @DisplayName("The task should run on a named daemon thread at the time it asks for until the sampler stops")
+    void start_runsTaskUntilStopped() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var thread = new AtomicReference<Thread>();
+        var ranTwice = new CountDownLatch(2);
+        var sampler = new PeriodicSampler("ctrf-test-sampler", now -> {
+            thread.set(Thread.currentThread());
+            runs.incrementAndGet();
+            ranTwice.countDown();
+            return now + 10;
+        });
+
+        sampler.start();
+        assertTrue(ranTwice.await(5, TimeUnit.SECONDS));
+        sampler.stop();
+        thread.get().join(5_000);
+
+        assertFalse(thread.get().isAlive());
+        assertTrue(thread.get().isDaemon());
+        assertEquals("ctrf-test-sampler", thread.get().getName());
+        int runsAfterStop = runs.get();
+        Thread.sleep(50);
+        assertEquals(runsAfterStop, runs.get());
+    }
+}
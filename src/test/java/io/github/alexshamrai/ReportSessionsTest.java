@@ -0,0 +1,53 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ReportSessionsTest {
+
+    @Test
+    void acquire_returnsDistinctSlotsForActiveSessions() {
+        int first = ReportSessions.acquire();
+        int second = ReportSessions.acquire();
+        try {
+            assertNotEquals(first, second);
+        } finally {
+            ReportSessions.release(first);
+            ReportSessions.release(second);
+        }
+    }
+
+    @Test
+    void acquire_reusesReleasedSlot() {
+        int slot = ReportSessions.acquire();
+        ReportSessions.release(slot);
+
+        int reused = ReportSessions.acquire();
+        ReportSessions.release(reused);
+
+        assertEquals(slot, reused);
+    }
+
+    @Test
+    void resolveReportPath_keepsConfiguredPathForFirstSlot() {
+        assertEquals("build/ctrf-report.json", ReportSessions.resolveReportPath("build/ctrf-report.json", 0));
+    }
+
+    @Test
+    void resolveReportPath_addsSuffixBeforeExtension() {
+        assertEquals("build/ctrf-report-2.json", ReportSessions.resolveReportPath("build/ctrf-report.json", 2));
+    }
+
+    @Test
+    void resolveReportPath_appendsSuffixWhenNoExtension() {
+        assertEquals("build.dir/ctrf-report-1", ReportSessions.resolveReportPath("build.dir/ctrf-report", 1));
+    }
+
+    @Test
+    void resolveReportPath_prefersSessionIdOverSlot() {
+        assertEquals("build/ctrf-report-api.json", ReportSessions.resolveReportPath("build/ctrf-report.json", " api ", 2));
+        assertEquals("build/ctrf-report-2.json", ReportSessions.resolveReportPath("build/ctrf-report.json", "", 2));
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test.TestStatus;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReporterMetricsTest {
+
+    private static final int SESSION_SLOT = 9_999;
+
+    private InFlightTests inFlightTests;
+    private RunEpoch epoch;
+    private ReporterMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        inFlightTests = new InFlightTests(0);
+        epoch = new RunEpoch();
+        metrics = new ReporterMetrics(() -> inFlightTests, () -> epoch);
+    }
+
+    @AfterEach
+    void tearDown() throws JMException {
+        var name = metrics.getObjectName();
+        if (name != null && ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Results should be counted per status")
+    void recordResult_countsPerStatus() {
+        metrics.recordResult(TestStatus.PASSED);
+        metrics.recordResult(TestStatus.PASSED);
+        metrics.recordResult(TestStatus.FAILED);
+        metrics.recordResult(TestStatus.SKIPPED);
+        metrics.recordResult(TestStatus.OTHER);
+        metrics.recordResult(TestStatus.PENDING);
+
+        assertEquals(2, metrics.getPassedTests());
+        assertEquals(1, metrics.getFailedTests());
+        assertEquals(1, metrics.getSkippedTests());
+        assertEquals(2, metrics.getOtherTests());
+    }
+
+    @Test
+    @DisplayName("Results of the current second should not count towards the rate yet")
+    void getResultsPerSecond_ignoresCurrentSecond() {
+        metrics.recordResult(TestStatus.PASSED);
+
+        assertEquals(0.0, metrics.getResultsPerSecond());
+    }
+
+    @Test
+    @DisplayName("In-flight metrics should reflect the started tests")
+    void inFlightMetrics_reflectStartedTests() {
+        assertEquals(0, metrics.getOldestInFlightTestAgeMs());
+
+        long now = System.currentTimeMillis();
+        inFlightTests.start(TestDetails.builder().uniqueId("id-1").startTime(now - 5_000).build());
+        inFlightTests.start(TestDetails.builder().uniqueId("id-2").startTime(now).build());
+
+        assertEquals(2, metrics.getInFlightTests());
+        assertTrue(metrics.getOldestInFlightTestAgeMs() >= 5_000);
+    }
+
+    @Test
+    @DisplayName("Buffered results should be read from the current epoch")
+    void getBufferedResults_readsCurrentEpoch() {
+        epoch.add(io.github.alexshamrai.ctrf.model.Test.builder().name("Test").build());
+
+        assertEquals(1, metrics.getBufferedResults());
+        epoch = new RunEpoch();
+        assertEquals(0, metrics.getBufferedResults());
+    }
+
+    @Test
+    @DisplayName("The last write latency should be -1 until a report was written")
+    void getLastWriteLatencyMs_tracksLastWrite() {
+        assertEquals(-1, metrics.getLastWriteLatencyMs());
+
+        metrics.recordWriteLatency(42_000_000);
+
+        assertEquals(42, metrics.getLastWriteLatencyMs());
+    }
+
+    @Test
+    @DisplayName("Registering should expose the metrics in the platform MBean server and replace a previous run")
+    void register_exposesAttributes() throws JMException {
+        var previous = new ReporterMetrics(() -> inFlightTests, () -> epoch);
+        previous.register(SESSION_SLOT);
+        metrics.register(SESSION_SLOT);
+        metrics.recordResult(TestStatus.FAILED);
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(1L, server.getAttribute(metrics.getObjectName(), "FailedTests"));
+        assertEquals(-1L, server.getAttribute(metrics.getObjectName(), "LastWriteLatencyMs"));
+    }
+
+    @Test
+    @DisplayName("Registering should start counting a new run from zero")
+    void register_resetsCountersOfPreviousRun() {
+        metrics.recordResult(TestStatus.PASSED);
+        metrics.recordWriteLatency(42_000_000);
+
+        metrics.register(SESSION_SLOT);
+
+        assertEquals(0, metrics.getPassedTests());
+        assertEquals(-1, metrics.getLastWriteLatencyMs());
+    }
+
+    @Test
+    @DisplayName("The metrics of a finished run should stay readable until the next run of the slot registers")
+    void register_keepsMBeanOfFinishedRunUntilReplaced() throws JMException {
+        metrics.register(SESSION_SLOT);
+        metrics.recordResult(TestStatus.PASSED);
+        metrics.recordWriteLatency(42_000_000);
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(42L, server.getAttribute(metrics.getObjectName(), "LastWriteLatencyMs"));
+        assertEquals(1L, server.getAttribute(metrics.getObjectName(), "PassedTests"));
+
+        var next = new ReporterMetrics(() -> inFlightTests, () -> epoch);
+        next.register(SESSION_SLOT);
+
+        assertEquals(-1L, server.getAttribute(next.getObjectName(), "LastWriteLatencyMs"));
+        assertEquals(0L, server.getAttribute(next.getObjectName(), "PassedTests"));
+    }
+}
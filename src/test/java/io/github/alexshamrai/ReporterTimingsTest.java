@@ -0,0 +1,84 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReporterTimingsTest {
+
+    @Test
+    @DisplayName("A disabled instance should neither read the clock nor record anything")
+    void disabled_recordsNothing() {
+        var timings = new ReporterTimings(false);
+
+        long start = timings.start();
+        timings.stop("callback", start);
+
+        assertEquals(0L, start);
+        assertTrue(timings.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("The snapshot should contain count, total and maximum per timer, sorted by name")
+    void snapshot_describesEveryTimer() {
+        var timings = new ReporterTimings(true);
+
+        long now = System.nanoTime();
+        timings.stop("b", now - 3_000_000);
+        timings.stop("b", now - 1_000_000);
+        timings.stop("a", now);
+
+        var snapshot = timings.snapshot();
+        assertEquals(List.of("a", "b"), List.copyOf(snapshot.keySet()));
+        var b = (Map<?, ?>) snapshot.get("b");
+        assertEquals(2L, b.get("count"));
+        assertTrue((Long) b.get("totalMicros") >= 4_000);
+        assertTrue((Long) b.get("maxMicros") >= 3_000);
+        assertTrue((Long) b.get("maxMicros") < (Long) b.get("totalMicros"));
+    }
+
+    @Test
+    @DisplayName("Concurrent measurements should all be counted")
+    void stop_fromManyThreads_countsEveryMeasurement() {
+        var timings = new ReporterTimings(true);
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        timings.stop("callback", timings.start());
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000L, ((Map<?, ?>) timings.snapshot().get("callback")).get("count"));
+    }
+
+    @Test
+    @DisplayName("Measurements after the snapshot should be kept for the next run under the previous run prefix")
+    void reset_keepsMeasurementsAfterSnapshot() {
+        var timings = new ReporterTimings(true);
+        timings.stop("composition", timings.start());
+
+        assertEquals(List.of("composition"), List.copyOf(timings.snapshot().keySet()));
+        timings.stop("reportWrite", timings.start());
+        assertEquals(List.of("composition"), List.copyOf(timings.snapshot().keySet()));
+
+        timings.reset();
+        timings.stop("composition", timings.start());
+
+        assertEquals(List.of("composition", "previousRun.reportWrite"), List.copyOf(timings.snapshot().keySet()));
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.config.CtrfConfig;
+import io.github.alexshamrai.model.TestDetails;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the memory cost of reporting tests against regressions.
+ * <p>
+ * Measures the bytes allocated per reported test on the success and the failure path, and the heap retained by
+ * the results of 100k tests, and fails when they exceed their budgets. The budgets can be overridden with the
+ * system properties {@code budget.success.allocated.bytes}, {@code budget.failure.allocated.bytes} and
+ * {@code budget.retained.bytes.per.100k}. The tests are tagged {@code budget} and run by the {@code budgetTest}
+ * Gradle task, in a JVM of their own.
+ */
+@Tag("budget")
+class ReportingBudgetTest {
+
+    private static final long SUCCESS_ALLOCATED_BYTES = Long.getLong("budget.success.allocated.bytes", 4_096);
+    private static final long FAILURE_ALLOCATED_BYTES = Long.getLong("budget.failure.allocated.bytes", 32_768);
+    private static final long RETAINED_BYTES_PER_100K = Long.getLong("budget.retained.bytes.per.100k", 80L * 1024 * 1024);
+
+    private static final int WARMUP_EVENTS = 20_000;
+    private static final int MEASURED_EVENTS = 10_000;
+    private static final int RETAINED_RESULTS = 100_000;
+    private static final Set<String> TAGS = Set.of("budget");
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private ConfigReader configReader;
+    private Throwable failure;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation measurement is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        configReader = new ConfigReader(ConfigFactory.create(CtrfConfig.class, Map.of("ctrf.shutdown.timeout.ms", "0")));
+        failure = createShallowFailure();
+    }
+
+    @Test
+    void successPath_staysWithinAllocationBudget() {
+        long bytesPerEvent = allocatedBytesPerEvent((manager, details) -> {
+            manager.onTestStart(details);
+            manager.onTestSuccess(details.getUniqueId());
+        });
+
+        assertThat(bytesPerEvent)
+            .as("bytes allocated by onTestStart and onTestSuccess per test")
+            .isLessThanOrEqualTo(SUCCESS_ALLOCATED_BYTES);
+    }
+
+    @Test
+    void failurePath_staysWithinAllocationBudget() {
+        long bytesPerEvent = allocatedBytesPerEvent((manager, details) -> {
+            manager.onTestStart(details);
+            manager.onTestFailure(details.getUniqueId(), failure);
+        });
+
+        assertThat(bytesPerEvent)
+            .as("bytes allocated by onTestStart and onTestFailure per test")
+            .isLessThanOrEqualTo(FAILURE_ALLOCATED_BYTES);
+    }
+
+    @Test
+    void results_stayWithinRetainedHeapBudget() {
+        var details = createDetails("retained", RETAINED_RESULTS);
+        long heapBefore = usedHeapAfterGc();
+
+        var manager = createReportManager();
+        for (TestDetails testDetails : details) {
+            manager.onTestStart(testDetails);
+            manager.onTestSuccess(testDetails.getUniqueId());
+        }
+        long retained = usedHeapAfterGc() - heapBefore;
+        Reference.reachabilityFence(manager);
+
+        assertThat(retained * 100_000 / RETAINED_RESULTS)
+            .as("heap retained by the results of 100k tests")
+            .isLessThanOrEqualTo(RETAINED_BYTES_PER_100K);
+    }
+
+    private long allocatedBytesPerEvent(ReportingEvent event) {
+        var warmupManager = createReportManager();
+        for (TestDetails details : createDetails("warmup", WARMUP_EVENTS)) {
+            event.report(warmupManager, details);
+        }
+
+        var manager = createReportManager();
+        var details = createDetails("measured", MEASURED_EVENTS);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (TestDetails testDetails : details) {
+            event.report(manager, testDetails);
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_EVENTS;
+    }
+
+    private CtrfReportManager createReportManager() {
+        var testProcessor = new TestProcessor(configReader);
+        return new CtrfReportManager(configReader, new CtrfReportFileService(configReader), testProcessor,
+            new SuiteExecutionErrorHandler(testProcessor), null);
+    }
+
+    /**
+     * Creates the test details up front, so allocating them is not counted as reporting cost.
+     */
+    private static TestDetails[] createDetails(String prefix, int count) {
+        var details = new TestDetails[count];
+        for (int i = 0; i < count; i++) {
+            details[i] = TestDetails.builder()
+                .uniqueId("[engine:junit-jupiter]/[class:" + prefix + "]/[method:test" + i + "()]")
+                .displayName(prefix + "Test" + i + "()")
+                .tags(TAGS)
+                .filePath("io.github.alexshamrai.BudgetTest")
+                .build();
+        }
+        return details;
+    }
+
+    /**
+     * Creates a failure on a fresh thread, so its trace has the same few frames on every JVM and test runner.
+     */
+    private static Throwable createShallowFailure() throws InterruptedException {
+        var failure = new AtomicReference<Throwable>();
+        var thread = new Thread(() -> failure.set(new AssertionError("expected: <1> but was: <2>")));
+        thread.start();
+        thread.join();
+        return failure.get();
+    }
+
+    private static long usedHeapAfterGc() {
+        var memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @FunctionalInterface
+    private interface ReportingEvent {
+        void report(CtrfReportManager manager, TestDetails details);
+    }
+}
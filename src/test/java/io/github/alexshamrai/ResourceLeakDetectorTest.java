@@ -0,0 +1,98 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceLeakDetectorTest {
+
+    private final ResourceLeakDetector detector = new ResourceLeakDetector();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A thread left running by a test that ran alone should be recorded as its leak")
+    void finish_recordsLeakedThreadOfTestRunningAlone() {
+        var details = details("LeakingTest");
+
+        detector.start(details);
+        leakThread();
+        detector.finish(details);
+
+        assertTrue(details.getLeakedResources().getThreads() >= 1);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Leaks of overlapping tests should be attributed to their class")
+    void finish_attributesLeaksOfOverlappingTestsToClass() {
+        var first = details("ParallelTest");
+        var second = details("ParallelTest");
+
+        detector.start(first);
+        detector.start(second);
+        leakThread();
+        detector.finish(first);
+        detector.finish(second);
+
+        assertNull(first.getLeakedResources());
+        assertNull(second.getLeakedResources());
+        var leakers = detector.worstLeakers(List.of(), 10);
+        assertEquals(1, leakers.size());
+        assertEquals("ParallelTest", leakers.get(0).get("name"));
+        assertEquals("class", leakers.get(0).get("scope"));
+        assertTrue((Long) leakers.get(0).get("leakedThreads") >= 1);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Worst leakers should be ranked by threads, then file descriptors, and limited")
+    void worstLeakers_ranksByLeakedResources() {
+        var tests = List.of(
+            leakingTest("fdLeak", 0L, 3L),
+            leakingTest("noLeak", 0L, 0L),
+            leakingTest("threadLeak", 2L, 0L),
+            Test.builder().name("unmeasured").build(),
+            leakingTest("smallFdLeak", 0L, 1L));
+
+        var leakers = detector.worstLeakers(tests, 2);
+
+        assertEquals(2, leakers.size());
+        assertEquals("threadLeak", leakers.get(0).get("name"));
+        assertEquals("test", leakers.get(0).get("scope"));
+        assertEquals(2L, leakers.get(0).get("leakedThreads"));
+        assertEquals("fdLeak", leakers.get(1).get("name"));
+    }
+
+    private TestDetails details(String className) {
+        return TestDetails.builder().uniqueId(className + System.nanoTime()).filePath(className).build();
+    }
+
+    private void leakThread() {
+        var thread = new Thread(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "leaked-thread");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static Test leakingTest(String name, Long threads, Long fileDescriptors) {
+        var extra = Extra.builder().leakedThreads(threads).leakedFileDescriptors(fileDescriptors).leakedBufferBytes(0L).build();
+        return Test.builder().name(name).extra(extra).build();
+    }
+}
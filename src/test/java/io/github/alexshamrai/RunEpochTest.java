@@ -0,0 +1,173 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunEpochTest {
+
+    private RunEpoch epoch;
+
+    @BeforeEach
+    void setUp() {
+        epoch = new RunEpoch();
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_addsResult() {
+        assertEquals(RunEpoch.Outcome.RECORDED, epoch.record(e -> Test.builder().name("test").build()));
+
+        assertEquals(0, epoch.close(100));
+        assertEquals(1, epoch.snapshot().size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void recordRun_countsPreviousRunsByName() {
+        epoch.add(Test.builder().name("test").build());
+
+        assertEquals(1, epoch.recordRun(Test.builder().name("test").build()));
+        assertEquals(0, epoch.recordRun(Test.builder().name("other").build()));
+        assertEquals(0, epoch.recordRun(Test.builder().build()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_reportsResultAfterCloseAsLate() {
+        epoch.close(100);
+
+        assertEquals(RunEpoch.Outcome.LATE, epoch.record(e -> Test.builder().name("test").build()));
+        assertTrue(epoch.snapshot().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_notifiesOnlyOfRecordedResults() {
+        var notified = new AtomicInteger();
+        epoch = new RunEpoch(test -> notified.incrementAndGet());
+
+        epoch.record(e -> Test.builder().name("test").build());
+        epoch.close(100);
+        epoch.record(e -> Test.builder().name("late").build());
+
+        assertEquals(1, notified.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_releasesBarrierWhenResultFactoryFails() {
+        assertThrows(IllegalStateException.class, () -> epoch.record(e -> {
+            throw new IllegalStateException("failure");
+        }));
+
+        assertEquals(0, epoch.close(100));
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_waitsForCallbackInFlight() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var recorded = CompletableFuture.supplyAsync(() -> epoch.record(e -> {
+            entered.countDown();
+            await(release);
+            return Test.builder().name("slow").build();
+        }));
+        entered.await();
+
+        var closing = CompletableFuture.supplyAsync(() -> epoch.close(10_000));
+        release.countDown();
+
+        assertEquals(0, closing.get(5, TimeUnit.SECONDS));
+        assertEquals(RunEpoch.Outcome.RECORDED, recorded.get(5, TimeUnit.SECONDS));
+        assertEquals(1, epoch.snapshot().size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_countsCallbackStillInFlightAfterTimeoutAsLate() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var recorded = CompletableFuture.supplyAsync(() -> epoch.record(e -> {
+            entered.countDown();
+            await(release);
+            return Test.builder().name("straggler").build();
+        }));
+        entered.await();
+
+        assertEquals(1, epoch.close(50));
+        release.countDown();
+
+        assertEquals(RunEpoch.Outcome.LATE, recorded.get(5, TimeUnit.SECONDS));
+        assertTrue(epoch.snapshot().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void runIfOpen_skipsActionAfterClose() {
+        var runs = new AtomicInteger();
+
+        assertTrue(epoch.runIfOpen(runs::incrementAndGet));
+        epoch.close(100);
+
+        assertFalse(epoch.runIfOpen(runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_withClaim_addsResultOfClaimedSubject() {
+        var outcome = epoch.record(() -> "claimed", (e, subject) -> Test.builder().name(subject).build());
+
+        assertEquals(RunEpoch.Outcome.RECORDED, outcome);
+        assertEquals("claimed", epoch.snapshot().get(0).getName());
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_withClaim_doesNotClaimAfterClose() {
+        var claims = new AtomicInteger();
+        epoch.close(100);
+
+        var outcome = epoch.record(() -> claims.incrementAndGet(), (e, subject) -> Test.builder().build());
+
+        assertEquals(RunEpoch.Outcome.LATE, outcome);
+        assertEquals(0, claims.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void record_withClaim_isLateWhenNothingIsClaimed() {
+        assertEquals(RunEpoch.Outcome.LATE, epoch.record(() -> null, (e, subject) -> Test.builder().build()));
+
+        assertEquals(0, epoch.close(100));
+        assertTrue(epoch.snapshot().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_waitsForClaimAndCountsItAsLate() throws Exception {
+        var claiming = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var recorded = CompletableFuture.supplyAsync(() -> epoch.record(() -> {
+            claiming.countDown();
+            await(release);
+            return "claimed";
+        }, (e, subject) -> Test.builder().name(subject).build()));
+        claiming.await();
+
+        var closing = CompletableFuture.supplyAsync(() -> epoch.close(0));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals(1, closing.get(5, TimeUnit.SECONDS));
+        assertEquals(RunEpoch.Outcome.LATE, recorded.get(5, TimeUnit.SECONDS));
+        assertTrue(epoch.snapshot().isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
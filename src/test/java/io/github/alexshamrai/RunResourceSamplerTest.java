@@ -0,0 +1,84 @@
+package io.github.alexshamrai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunResourceSamplerTest {
+
+    private static final List<String> SERIES = List.of("time", "processCpuPercent", "loadAverage", "heapUsedKb", "threads", "gcCount");
+
+    private final RunResourceSampler sampler = new RunResourceSampler(60_000L);
+
+    @Test
+    @DisplayName("The timeline should cover the run from its start to its end")
+    void startAndStop_sampleRunBoundaries() {
+        sampler.start();
+        sampler.stop();
+
+        var timeline = sampler.describe();
+
+        assertEquals(2, timeline.get("samples"));
+        assertEquals(60_000L, timeline.get("intervalMs"));
+        for (String series : SERIES) {
+            assertEquals(2, ((long[]) timeline.get(series)).length, series);
+        }
+        var time = (long[]) timeline.get("time");
+        assertEquals(0, time[0]);
+        assertTrue(time[1] >= 0);
+        assertTrue(((long[]) timeline.get("threads"))[0] > 0);
+    }
+
+    @Test
+    @DisplayName("Series should be delta-encoded")
+    void describe_deltaEncodesSeries() {
+        sampler.start();
+        sampler.stop();
+        long startTime = (Long) sampler.describe().get("startTime");
+        sampler.sample(startTime + 1_000);
+        sampler.sample(startTime + 1_500);
+
+        var time = (long[]) sampler.describe().get("time");
+
+        assertEquals(500, time[3]);
+        assertEquals(1_500, time[0] + time[1] + time[2] + time[3]);
+    }
+
+    @Test
+    @DisplayName("Running out of samples should halve the resolution of the timeline")
+    void sample_halvesResolutionWhenFull() {
+        sampler.start();
+        sampler.stop();
+        long startTime = (Long) sampler.describe().get("startTime");
+        for (int i = 2; i <= RunResourceSampler.MAX_SAMPLES; i++) {
+            sampler.sample(startTime + i * 60_000L);
+        }
+
+        var timeline = sampler.describe();
+
+        assertEquals(RunResourceSampler.MAX_SAMPLES / 2 + 1, timeline.get("samples"));
+        assertEquals(120_000L, timeline.get("intervalMs"));
+    }
+
+    @Test
+    @DisplayName("A new run should start a new timeline at the configured interval")
+    void start_resetsTimelineOfPreviousRun() {
+        sampler.start();
+        sampler.stop();
+        long startTime = (Long) sampler.describe().get("startTime");
+        for (int i = 2; i <= RunResourceSampler.MAX_SAMPLES; i++) {
+            sampler.sample(startTime + i * 60_000L);
+        }
+
+        sampler.start();
+        sampler.stop();
+        var timeline = sampler.describe();
+
+        assertEquals(2, timeline.get("samples"));
+        assertEquals(60_000L, timeline.get("intervalMs"));
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.StackProfile;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowTestProfilerTest {
+
+    private static final long THRESHOLD = 1_000L;
+    private static final long INTERVAL = 20L;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final InFlightTests inFlightTests = new InFlightTests(0);
+    private final SlowTestProfiler profiler = new SlowTestProfiler(() -> inFlightTests, THRESHOLD, INTERVAL, 2);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Tests below the threshold should not be sampled")
+    void sample_waitsForThreshold_whenNoTestIsSlow() {
+        var details = startTest("id-1", 10_000L);
+
+        long nextSample = profiler.sample(10_400L);
+
+        assertEquals(11_000L, nextSample);
+        assertNull(details.getProfile());
+    }
+
+    @Test
+    @DisplayName("Tests above the threshold should be sampled every interval")
+    void sample_profilesSlowTestEveryInterval() {
+        var details = startTest("id-1", 10_000L);
+
+        assertEquals(11_000L + INTERVAL, profiler.sample(11_000L));
+        profiler.sample(11_000L + INTERVAL);
+
+        assertEquals(2, details.getProfile().getSamples());
+        var stack = details.getProfile().getFoldedStacks().keySet().iterator().next();
+        assertTrue(stack.startsWith("java.lang.Thread.run"), stack);
+        assertTrue(stack.contains(";java.util.concurrent.CountDownLatch.await;"), stack);
+    }
+
+    @Test
+    @DisplayName("The profile should list the hot frames and the most frequent folded stacks")
+    @SuppressWarnings("unchecked")
+    void describe_listsHotFramesAndFoldedStacks() {
+        var profile = new StackProfile();
+        var busy = stack("Test.run", "Service.call", "Parser.parse");
+        var idle = stack("Test.run", "Service.call", "Object.wait");
+        for (int i = 0; i < 3; i++) {
+            profile.add(busy, 128);
+        }
+        profile.add(idle, 128);
+        profile.add(stack("Test.run", "Cache.load", "Parser.parse"), 128);
+
+        var description = profiler.describe(profile);
+
+        assertEquals(5, description.get("samples"));
+        assertEquals(INTERVAL, description.get("intervalMs"));
+        var topFrames = (List<Map<String, Object>>) description.get("topFrames");
+        assertEquals(List.of(Map.of("frame", "Parser.parse", "samples", 4L), Map.of("frame", "Object.wait", "samples", 1L)), topFrames);
+        var foldedStacks = (List<String>) description.get("foldedStacks");
+        assertEquals("Test.run;Service.call;Parser.parse 3", foldedStacks.get(0));
+        assertEquals(3, foldedStacks.size());
+    }
+
+    @Test
+    @DisplayName("Only sampled tests should get a profile in their extra data")
+    void attach_addsProfileOfSampledTests() {
+        var details = TestDetails.builder().uniqueId("id-1").build();
+        var test = io.github.alexshamrai.ctrf.model.Test.builder().name("test()").build();
+
+        profiler.attach(details, test);
+        assertNull(test.getExtra());
+
+        details.setProfile(new StackProfile());
+        details.getProfile().add(stack("Test.run", "Parser.parse"), 128);
+        profiler.attach(details, test);
+
+        assertEquals(1, test.getExtra().getProfile().get("samples"));
+    }
+
+    private static StackTraceElement[] stack(String... rootFirstFrames) {
+        var stackTrace = new StackTraceElement[rootFirstFrames.length];
+        for (int i = 0; i < rootFirstFrames.length; i++) {
+            var frame = rootFirstFrames[rootFirstFrames.length - 1 - i];
+            int dot = frame.lastIndexOf('.');
+            stackTrace[i] = new StackTraceElement(frame.substring(0, dot), frame.substring(dot + 1), null, -1);
+        }
+        return stackTrace;
+    }
+
+    private TestDetails startTest(String uniqueId, long startTime) {
+        var thread = new Thread(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "slow-test");
+        thread.setDaemon(true);
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        var details = TestDetails.builder()
+            .uniqueId(uniqueId)
+            .displayName(uniqueId)
+            .startTime(startTime)
+            .thread(thread)
+            .build();
+        inFlightTests.start(details);
+        return details;
+    }
+}
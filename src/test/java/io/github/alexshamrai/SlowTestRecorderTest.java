@@ -0,0 +1,110 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowTestRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SlowTestRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A test slower than the threshold should get the recording attached")
+    void recordIfSlow_attachesRecordingOfSlowTest() throws IOException {
+        recorder = new SlowTestRecorder(10, 16 * 1024 * 1024);
+        recorder.start(tempDir.resolve("ctrf-report-jfr"));
+        long start = System.currentTimeMillis() - 50;
+        var details = TestDetails.builder().startTime(start).build();
+        var test = Test.builder().name("slow test()").duration(50).build();
+
+        recorder.recordIfSlow(details, test, null);
+
+        assertEquals(1, test.getAttachments().size());
+        var attachment = (Map<?, ?>) test.getAttachments().get(0);
+        assertEquals("JFR recording", attachment.get("name"));
+        assertEquals("application/octet-stream", attachment.get("contentType"));
+        var file = Path.of((String) attachment.get("path"));
+        assertEquals(tempDir.resolve("ctrf-report-jfr").resolve("slow_test_-1.jfr"), file);
+        assertTrue(Files.size(file) > 0);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A fast test that did not time out should not get a recording")
+    void recordIfSlow_ignoresFastTest() {
+        recorder = new SlowTestRecorder(10_000, 16 * 1024 * 1024);
+        recorder.start(tempDir);
+        var test = Test.builder().name("fast test()").duration(5).build();
+
+        recorder.recordIfSlow(TestDetails.builder().startTime(System.currentTimeMillis()).build(), test, new AssertionError("failed"));
+
+        assertNull(test.getAttachments());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Timeouts of @Timeout and assertTimeoutPreemptively should be recognized by their type")
+    void isTimeout_recognizesJUnitTimeouts() {
+        var preemptiveTimeout = assertThrows(AssertionFailedError.class,
+            () -> assertTimeoutPreemptively(Duration.ofMillis(10), () -> Thread.sleep(5_000)));
+
+        assertTrue(SlowTestRecorder.isTimeout(new TimeoutException("test() timed out after 5 seconds")));
+        assertTrue(SlowTestRecorder.isTimeout(new RuntimeException(new TimeoutException())));
+        assertTrue(SlowTestRecorder.isTimeout(preemptiveTimeout));
+        assertFalse(SlowTestRecorder.isTimeout(new AssertionError("expected: <1> but was: <2>")));
+        assertFalse(SlowTestRecorder.isTimeout(new AssertionError("the request timed out")));
+        assertFalse(SlowTestRecorder.isTimeout(null));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A fast test sampled as stalled by the watchdog should get the recording attached")
+    void recordIfSlow_attachesRecordingOfStalledTest() {
+        recorder = new SlowTestRecorder(10_000, 16 * 1024 * 1024);
+        recorder.start(tempDir);
+        var details = TestDetails.builder().startTime(System.currentTimeMillis() - 50).stallSamples(List.of("stack")).build();
+        var test = Test.builder().name("stalled test()").duration(50).build();
+
+        recorder.recordIfSlow(details, test, new AssertionError("execution exceeded timeout of 20 ms by 30 ms"));
+
+        assertEquals(1, test.getAttachments().size());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Existing attachments should be kept")
+    void recordIfSlow_keepsExistingAttachments() {
+        recorder = new SlowTestRecorder(0, 16 * 1024 * 1024);
+        recorder.start(tempDir);
+        var test = Test.builder().name("test()").attachments(List.of("screenshot")).build();
+
+        recorder.recordIfSlow(TestDetails.builder().startTime(System.currentTimeMillis()).build(), test, null);
+
+        assertEquals(2, test.getAttachments().size());
+        assertEquals("screenshot", test.getAttachments().get(0));
+    }
+}
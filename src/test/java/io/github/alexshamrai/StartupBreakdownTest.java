@@ -0,0 +1,67 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.launcher.CtrfDiscoveryListener;
+import io.github.alexshamrai.launcher.LauncherDiscovery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestPlan;
+import org.mockito.Mockito;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupBreakdownTest {
+
+    private final StartupBreakdown breakdown = new StartupBreakdown();
+
+    @Test
+    @DisplayName("The breakdown should be empty until the run started")
+    void describe_beforeRunStarted() {
+        assertNull(breakdown.describe());
+    }
+
+    @Test
+    @DisplayName("The phases should end at the discovery, the run start and the first test")
+    @SuppressWarnings("unchecked")
+    void describe_splitsStartupIntoPhases() {
+        var discovery = timedDiscovery();
+        breakdown.runStarted(System.currentTimeMillis(), discovery);
+        long firstTestStart = System.currentTimeMillis();
+        breakdown.testStarted(firstTestStart);
+        breakdown.testStarted(firstTestStart + 1_000);
+
+        var description = breakdown.describe();
+
+        long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        assertEquals(jvmStartTime, description.get("jvmStartTime"));
+        assertEquals(firstTestStart - jvmStartTime, description.get("totalMs"));
+        var phases = (List<Map<String, Object>>) description.get("phases");
+        assertEquals(List.of("launcher", "discovery", "executionStart", "firstTest"),
+            phases.stream().map(phase -> phase.get("name")).collect(Collectors.toList()));
+        assertEquals(discovery.getStartTime() - jvmStartTime, phases.get(0).get("durationMs"));
+        assertEquals(discovery.getStartLoadedClasses(), phases.get(0).get("loadedClasses"));
+        long total = phases.stream().mapToLong(phase -> (Long) phase.get("durationMs")).sum();
+        assertEquals(description.get("totalMs"), total);
+        assertTrue(phases.stream().allMatch(phase -> (Long) phase.get("loadedClasses") >= 0));
+    }
+
+    private static LauncherDiscovery timedDiscovery() {
+        var request = Mockito.mock(LauncherDiscoveryRequest.class);
+        var configurationParameters = Mockito.mock(ConfigurationParameters.class);
+        Mockito.when(request.getConfigurationParameters()).thenReturn(configurationParameters);
+        var listener = new CtrfDiscoveryListener();
+        listener.launcherDiscoveryStarted(request);
+        listener.launcherDiscoveryFinished(request);
+        var testPlan = Mockito.mock(TestPlan.class);
+        Mockito.when(testPlan.getConfigurationParameters()).thenReturn(configurationParameters);
+        return LauncherDiscovery.of(testPlan);
+    }
+}
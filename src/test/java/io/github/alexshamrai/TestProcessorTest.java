@@ -2,7 +2,9 @@ package io.github.alexshamrai;
 
 import io.github.alexshamrai.config.ConfigReader;
 import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.ResourceUsage;
 import io.github.alexshamrai.model.TestDetails;
+import io.github.alexshamrai.model.ThreadContention;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -10,9 +12,11 @@ import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -85,4 +89,150 @@ public class TestProcessorTest {
         assertNotNull(result.getThreadId());
         assertEquals(Thread.currentThread().getName(), result.getThreadId());
     }
-}
\ No newline at end of file
+
+    @org.junit.jupiter.api.Test
+    @SuppressWarnings("deprecation")
+    void createTest_onUnnamedThread_recordsThreadIdInsteadOfEmptyName() throws InterruptedException {
+        var details = TestDetails.builder().startTime(1000L).build();
+        var result = new Test[1];
+        var thread = new Thread(() -> result[0] = testProcessor.createTest("Test", details, 2000L), "");
+
+        thread.start();
+        thread.join();
+
+        assertEquals("thread-" + thread.getId(), result[0].getThreadId());
+        assertNull(result[0].getExtra());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createIncompleteTest_setsOtherStatusAndElapsedTime() {
+        var details = TestDetails.builder()
+            .displayName("Hanging Test")
+            .startTime(1000L)
+            .build();
+
+        var result = testProcessor.createIncompleteTest(details, 4000L, "incomplete");
+
+        assertEquals("Hanging Test", result.getName());
+        assertEquals(Test.TestStatus.OTHER, result.getStatus());
+        assertEquals("incomplete", result.getRawStatus());
+        assertEquals(3000, result.getDuration());
+        assertNull(result.getThreadId());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createTest_attachesStallSamples() {
+        var details = TestDetails.builder()
+            .displayName("Slow Test")
+            .startTime(1000L)
+            .stallSamples(List.of("Running for 5000 ms on thread \"main\" WAITING"))
+            .build();
+
+        var result = testProcessor.createTest("Slow Test", details, 9000L);
+
+        assertNotNull(result.getExtra());
+        assertEquals(details.getStallSamples(), result.getExtra().getStallSamples());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createTest_attachesCpuTimeAndAllocatedBytes() {
+        var details = TestDetails.builder()
+            .displayName("Measured Test")
+            .startTime(1000L)
+            .cpuTimeNanos(2_500_000L)
+            .allocatedBytes(4096L)
+            .build();
+
+        var result = testProcessor.createTest("Measured Test", details, 2000L);
+
+        assertNotNull(result.getExtra());
+        assertEquals(2500L, result.getExtra().getCpuTimeMicros());
+        assertEquals(4096L, result.getExtra().getAllocatedBytes());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createTest_attachesContentionCounters() {
+        var details = TestDetails.builder()
+            .displayName("Contended Test")
+            .startTime(1000L)
+            .contention(new ThreadContention(4, 120, 2, -1))
+            .build();
+
+        var result = testProcessor.createTest("Contended Test", details, 2000L);
+
+        assertNotNull(result.getExtra());
+        assertEquals(4L, result.getExtra().getBlockedCount());
+        assertEquals(120L, result.getExtra().getBlockedTimeMs());
+        assertEquals(2L, result.getExtra().getWaitedCount());
+        assertNull(result.getExtra().getWaitedTimeMs());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createTest_attachesGcPausesAndHeapGrowth() {
+        var details = TestDetails.builder()
+            .displayName("Allocating Test")
+            .startTime(1000L)
+            .gcCount(2)
+            .gcPauseMs(35L)
+            .heapUsedDeltaBytes(-1024L)
+            .build();
+
+        var result = testProcessor.createTest("Allocating Test", details, 2000L);
+
+        assertNotNull(result.getExtra());
+        assertEquals(2L, result.getExtra().getGcCount());
+        assertEquals(35L, result.getExtra().getGcPauseMs());
+        assertEquals(-1024L, result.getExtra().getHeapUsedDeltaBytes());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createTest_attachesLeakedResources() {
+        var details = TestDetails.builder()
+            .displayName("Leaking Test")
+            .startTime(1000L)
+            .leakedResources(new ResourceUsage(2L, 1L, null))
+            .build();
+
+        var result = testProcessor.createTest("Leaking Test", details, 2000L);
+
+        assertNotNull(result.getExtra());
+        assertEquals(2L, result.getExtra().getLeakedThreads());
+        assertEquals(1L, result.getExtra().getLeakedFileDescriptors());
+        assertNull(result.getExtra().getLeakedBufferBytes());
+    }
+
+    @org.junit.jupiter.api.Test
+    void createIncompleteTest_keepsStallSamplesAsStallRecord() {
+        var details = TestDetails.builder()
+            .displayName("Hanging Test")
+            .startTime(1000L)
+            .stallSamples(List.of("Running for 5000 ms on thread \"main\" WAITING"))
+            .build();
+
+        var result = testProcessor.createIncompleteTest(details, 9000L, "incomplete");
+
+        assertNotNull(result.getExtra());
+        assertEquals(details.getStallSamples(), result.getExtra().getStallSamples());
+        assertNull(result.getExtra().getCarrierThread());
+    }
+
+    @org.junit.jupiter.api.Test
+    void capTrace_truncatesLongTrace() {
+        when(configReader.getMaxMessageLength()).thenReturn(5);
+        var test = Test.builder().trace("0123456789").build();
+
+        testProcessor.capTrace(test);
+
+        assertEquals("01234...", test.getTrace());
+    }
+
+    @org.junit.jupiter.api.Test
+    void capTrace_keepsShortTrace() {
+        when(configReader.getMaxMessageLength()).thenReturn(50);
+        var test = Test.builder().trace("short").build();
+
+        testProcessor.capTrace(test);
+
+        assertEquals("short", test.getTrace());
+    }
+}
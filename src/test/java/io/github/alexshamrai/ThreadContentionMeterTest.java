@@ -0,0 +1,84 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadContentionMeterTest {
+
+    private final ThreadContentionMeter meter = new ThreadContentionMeter();
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Blocking on a monitor held by another thread should be counted")
+    void finish_countsBlockingOnMonitor() throws InterruptedException {
+        var lock = new Object();
+        var details = TestDetails.builder().build();
+        var started = new CountDownLatch(1);
+        var testThread = new Thread(() -> {
+            details.setThread(Thread.currentThread());
+            meter.start(details);
+            started.countDown();
+            synchronized (lock) {
+                meter.finish(details);
+            }
+        });
+
+        synchronized (lock) {
+            testThread.start();
+            started.await();
+            while (testThread.getState() != Thread.State.BLOCKED) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20);
+        }
+        testThread.join();
+
+        var contention = details.getContention();
+        assertNotNull(contention);
+        assertTrue(contention.getBlockedCount() >= 1, "blocked " + contention);
+        assertTrue(contention.getBlockedTimeMs() == -1 || contention.getBlockedTimeMs() >= 10, "blocked " + contention);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("A test without a recorded thread should not be measured")
+    void finish_withoutThread_recordsNothing() {
+        var details = TestDetails.builder().build();
+
+        meter.start(details);
+        meter.finish(details);
+
+        assertNull(details.getContention());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("The most contended tests should be ranked by blocked time and limited")
+    void mostContendedTests_ranksByBlockedTime() {
+        var tests = List.of(
+            test("slightly blocked", 1L, 5L),
+            test("not blocked", 0L, 0L),
+            test("without counters", null, null),
+            test("heavily blocked", 3L, 500L),
+            test("moderately blocked", 7L, 50L));
+
+        var mostContended = ThreadContentionMeter.mostContendedTests(tests, 2);
+
+        assertEquals(2, mostContended.size());
+        assertEquals(Map.of("name", "heavily blocked", "blockedCount", 3L, "blockedTimeMs", 500L), mostContended.get(0));
+        assertEquals("moderately blocked", mostContended.get(1).get("name"));
+    }
+
+    private static Test test(String name, Long blockedCount, Long blockedTimeMs) {
+        var extra = blockedCount != null ? Extra.builder().blockedCount(blockedCount).blockedTimeMs(blockedTimeMs).build() : null;
+        return Test.builder().name(name).extra(extra).build();
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.alexshamrai;
+
+import io.github.alexshamrai.model.TestDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadResourceMeterTest {
+
+    private final ThreadResourceMeter meter = new ThreadResourceMeter();
+
+    @Test
+    @DisplayName("The allocations and CPU time of the current thread should be measured")
+    void finish_onStartingThread_measuresDelta() {
+        var details = TestDetails.builder().thread(Thread.currentThread()).build();
+
+        meter.start(details);
+        var allocation = new byte[1024 * 1024];
+        burnCpu();
+        meter.finish(details);
+
+        assertTrue(details.getAllocatedBytes() >= allocation.length, "allocated " + details.getAllocatedBytes());
+        assertTrue(details.getCpuTimeNanos() >= 0);
+    }
+
+    @Test
+    @DisplayName("A result reported from another thread should be measured on the thread that started the test")
+    void finish_onOtherThread_readsStartingThread() throws InterruptedException {
+        var details = TestDetails.builder().build();
+        var started = new CountDownLatch(1);
+        var finished = new CountDownLatch(1);
+        var testThread = new Thread(() -> {
+            details.setThread(Thread.currentThread());
+            meter.start(details);
+            var allocation = new byte[1024 * 1024];
+            started.countDown();
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            allocation[0] = 1;
+        });
+        testThread.start();
+        started.await();
+
+        var ownAllocation = new byte[8 * 1024 * 1024];
+        meter.finish(details);
+        finished.countDown();
+        testThread.join();
+
+        assertTrue(details.getAllocatedBytes() >= 1024 * 1024, "allocated " + details.getAllocatedBytes());
+        assertTrue(details.getAllocatedBytes() < ownAllocation.length, "allocated " + details.getAllocatedBytes());
+    }
+
+    @Test
+    @DisplayName("Nothing should be recorded once the starting thread has terminated")
+    void finish_afterStartingThreadTerminated_recordsNothing() throws InterruptedException {
+        var details = TestDetails.builder().build();
+        var testThread = new Thread(() -> {
+            details.setThread(Thread.currentThread());
+            meter.start(details);
+        });
+        testThread.start();
+        testThread.join();
+
+        meter.finish(details);
+
+        assertEquals(-1, details.getCpuTimeNanos());
+        assertEquals(-1, details.getAllocatedBytes());
+    }
+
+    private static void burnCpu() {
+        long end = System.nanoTime() + 5_000_000;
+        long value = 0;
+        while (System.nanoTime() < end) {
+            value += value * 31 + 7;
+        }
+        assertTrue(value != 1);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ConfigReaderTest {
@@ -94,5 +95,31 @@ public class ConfigReaderTest {
         assertNull(mockConfig.osRelease());
         assertNull(mockConfig.osVersion());
         assertNull(mockConfig.testEnvironment());
+        assertEquals(2000, mockConfig.finishAwaitTimeoutMs());
+        assertEquals(0, mockConfig.maxInFlightTests());
+        assertEquals(0, mockConfig.watchdogThresholdMs());
+        assertEquals(10000, mockConfig.watchdogSampleIntervalMs());
+        assertEquals(3, mockConfig.watchdogMaxSamples());
+        assertEquals(3000, mockConfig.shutdownTimeoutMs());
+        assertEquals("jackson", mockConfig.jsonWriter());
+        assertFalse(mockConfig.recordReporterOverhead());
+        assertFalse(mockConfig.jmxEnabled());
+        assertFalse(mockConfig.recordTestResources());
+        assertFalse(mockConfig.recordTestContention());
+        assertEquals(10, mockConfig.contentionTopTests());
+        assertFalse(mockConfig.recordGcPauses());
+        assertFalse(mockConfig.jfrRecordingEnabled());
+        assertEquals(10000, mockConfig.jfrSlowTestThresholdMs());
+        assertEquals(64, mockConfig.jfrMaxSizeMb());
+        assertEquals(0, mockConfig.profilerThresholdMs());
+        assertEquals(20, mockConfig.profilerIntervalMs());
+        assertEquals(10, mockConfig.profilerTopFrames());
+        assertFalse(mockConfig.recordResourceLeaks());
+        assertEquals(10, mockConfig.leakTopEntries());
+        assertEquals(0, mockConfig.resourceTimelineIntervalMs());
+        assertFalse(mockConfig.recordContainerLimits());
+        assertFalse(mockConfig.recordHostFingerprint());
+        assertFalse(mockConfig.recordStartupBreakdown());
+        assertEquals(10, mockConfig.discoveryTopSelectors());
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package io.github.alexshamrai.jfr;
+
+import io.github.alexshamrai.CtrfReportFileService;
+import io.github.alexshamrai.config.ConfigReader;
+import io.github.alexshamrai.config.CtrfConfig;
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Results;
+import io.github.alexshamrai.ctrf.model.Test.TestStatus;
+import io.github.alexshamrai.model.TestDetails;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReporterEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test lifecycle events should carry the test name, id, status and thread")
+    void testEvents_describeTest() throws IOException {
+        var details = TestDetails.builder()
+            .uniqueId("[engine:junit-jupiter]/[method:test()]")
+            .displayName("test()")
+            .thread(Thread.currentThread())
+            .build();
+        var test = io.github.alexshamrai.ctrf.model.Test.builder().name("test()").status(TestStatus.FAILED).duration(12).build();
+
+        var events = record(List.of(TestStartedEvent.NAME, TestFinishedEvent.NAME), () -> {
+            ReporterEvents.testStarted(details);
+            ReporterEvents.testFinished(details, test);
+        });
+
+        assertThat(events).extracting(event -> event.getEventType().getName())
+            .containsExactly(TestStartedEvent.NAME, TestFinishedEvent.NAME);
+        var finished = events.get(1);
+        assertThat(finished.getString("testName")).isEqualTo("test()");
+        assertThat(finished.getString("uniqueId")).isEqualTo("[engine:junit-jupiter]/[method:test()]");
+        assertThat(finished.getString("status")).isEqualTo("failed");
+        assertThat(finished.getThread("testThread").getJavaName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("Writing a report should record the serialize and write phases")
+    void writeResultsToFile_recordsPhases() throws IOException {
+        var reportPath = tempDir.resolve("ctrf-report.json");
+        var config = ConfigFactory.create(CtrfConfig.class, Map.of("ctrf.report.path", reportPath.toString()));
+        var fileService = new CtrfReportFileService(new ConfigReader(config));
+        var ctrfJson = CtrfJson.builder()
+            .results(Results.builder().tests(List.of(io.github.alexshamrai.ctrf.model.Test.builder().name("test()").build())).build())
+            .build();
+
+        var events = record(List.of(ReportPhaseEvent.NAME), () -> fileService.writeResultsToFile(ctrfJson));
+
+        assertThat(events).extracting(event -> event.getString("phase"))
+            .containsExactly(ReportPhaseEvent.SERIALIZE, ReportPhaseEvent.WRITE);
+        long reportSize = Files.size(reportPath);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getInt("tests")).isEqualTo(1);
+            assertThat(event.getLong("bytes")).isEqualTo(reportSize);
+        });
+    }
+
+    @Test
+    @DisplayName("Events should not be recorded unless they are enabled")
+    void events_areDisabledByDefault() throws IOException {
+        var details = TestDetails.builder().uniqueId("id").displayName("test()").build();
+
+        var events = record(List.of(), () -> ReporterEvents.testStarted(details));
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A phase should only be recorded while its event is enabled")
+    void beginPhase_isRecordedOnlyWhenEnabled() throws IOException {
+        assertThat(ReporterEvents.isAvailable()).isTrue();
+        assertThat(ReporterEvents.beginPhase(ReportPhaseEvent.COMPOSE).isRecorded()).isFalse();
+
+        var events = record(List.of(ReportPhaseEvent.NAME), () -> {
+            var phase = ReporterEvents.beginPhase(ReportPhaseEvent.COMPOSE);
+            assertThat(phase.isRecorded()).isTrue();
+            phase.finish(3, 0);
+        });
+
+        assertThat(events).extracting(event -> event.getInt("tests")).containsExactly(3);
+    }
+
+    private List<RecordedEvent> record(List<String> enabledEvents, Runnable action) throws IOException {
+        var dump = tempDir.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            enabledEvents.forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().startsWith("io.github.alexshamrai."))
+            .collect(Collectors.toList());
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.alexshamrai.jupiter;
 
 import io.github.alexshamrai.CtrfReportManager;
+import io.github.alexshamrai.launcher.LauncherDiscovery;
 import io.github.alexshamrai.model.TestDetails;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,7 +9,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
@@ -17,7 +17,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,15 +37,29 @@ public class CtrfExtensionTest {
     @Mock
     private ExtensionContext extensionContext;
 
+    @Mock
+    private ExtensionContext rootContext;
+
+    @Mock
+    private ExtensionContext.Store rootStore;
+
+    @Mock
+    private ExtensionContext.Store launcherSessionStore;
+
     private CtrfExtension ctrfExtension;
-    private MockedStatic<CtrfReportManager> mockedStaticManager;
+    private AutoCloseable mocks;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
+        mocks = MockitoAnnotations.openMocks(this);
 
-        mockedStaticManager = Mockito.mockStatic(CtrfReportManager.class);
-        mockedStaticManager.when(CtrfReportManager::getInstance).thenReturn(reportManager);
+        // The report manager of the session lives in the root context store
+        when(extensionContext.getRoot()).thenReturn(rootContext);
+        when(rootContext.getStore(any(ExtensionContext.Namespace.class))).thenReturn(rootStore);
+        when(rootStore.getOrComputeIfAbsent(eq(CtrfReportManager.class), any(), eq(CtrfReportManager.class)))
+            .thenReturn(reportManager);
+        when(extensionContext.getStore(eq(ExtensionContext.StoreScope.LAUNCHER_SESSION), any(ExtensionContext.Namespace.class)))
+            .thenReturn(launcherSessionStore);
 
         ctrfExtension = new CtrfExtension();
 
@@ -52,21 +71,31 @@ public class CtrfExtensionTest {
     }
 
     @AfterEach
-    void tearDown() {
-        // It's crucial to close the static mock after each test to avoid leakage
-        mockedStaticManager.close();
+    void tearDown() throws Exception {
+        mocks.close();
     }
 
     @Test
     void beforeAllTests_shouldDelegateToManager() {
         ctrfExtension.beforeAllTests(extensionContext);
-        verify(reportManager).startTestRun("io.github.alexshamrai.jupiter.CtrfExtension");
+        verify(reportManager).startTestRun(eq("io.github.alexshamrai.jupiter.CtrfExtension"), any(), isNull());
+    }
+
+    @Test
+    void beforeAllTests_shouldPassDiscoveryOfLauncherSession() {
+        var discovery = Mockito.mock(LauncherDiscovery.class);
+        when(launcherSessionStore.get(LauncherDiscovery.SESSION_STORE_KEY, LauncherDiscovery.class)).thenReturn(discovery);
+
+        ctrfExtension.beforeAllTests(extensionContext);
+
+        verify(reportManager).startTestRun(eq("io.github.alexshamrai.jupiter.CtrfExtension"), any(), same(discovery));
     }
 
     @Test
     void afterAllTests_shouldDelegateToManager() {
         ctrfExtension.afterAllTests(extensionContext);
         verify(reportManager).finishTestRun(Optional.of(extensionContext));
+        verify(reportManager).stopTiming(eq("extension.afterAllTests"), anyLong());
     }
 
     @Test
@@ -83,6 +112,14 @@ public class CtrfExtensionTest {
         assertTrue(details.getTags().contains("smoke-test"));
     }
 
+    @Test
+    void callbacks_shouldUseReportManagerFromRootStore() {
+        ctrfExtension.beforeEach(extensionContext);
+        ctrfExtension.testSuccessful(extensionContext);
+
+        verify(rootStore, times(2)).getOrComputeIfAbsent(eq(CtrfReportManager.class), any(), eq(CtrfReportManager.class));
+    }
+
     @Test
     void testSuccessful_shouldDelegateToManager() {
         ctrfExtension.testSuccessful(extensionContext);
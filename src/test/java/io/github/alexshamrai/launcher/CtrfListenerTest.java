@@ -27,7 +27,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,7 +59,7 @@ public class CtrfListenerTest {
         MockitoAnnotations.openMocks(this);
 
         mockedStaticManager = Mockito.mockStatic(CtrfReportManager.class);
-        mockedStaticManager.when(CtrfReportManager::getInstance).thenReturn(reportManager);
+        mockedStaticManager.when(CtrfReportManager::create).thenReturn(reportManager);
 
         ctrfListener = new CtrfListener();
 
@@ -74,10 +76,25 @@ public class CtrfListenerTest {
         mockedStaticManager.close();
     }
 
+    @Test
+    void constructor_shouldNotCreateReportManager() {
+        mockedStaticManager.verify(CtrfReportManager::create, never());
+    }
+
+    @Test
+    void callbacks_shouldShareReportManagerCreatedOnFirstUse() {
+        ctrfListener.testPlanExecutionStarted(testPlan);
+        ctrfListener.executionStarted(testIdentifier);
+        ctrfListener.testPlanExecutionFinished(testPlan);
+
+        mockedStaticManager.verify(CtrfReportManager::create, times(1));
+    }
+
     @Test
     void testPlanExecutionStarted_shouldDelegateToManager() {
         ctrfListener.testPlanExecutionStarted(testPlan);
-        verify(reportManager).startTestRun("io.github.alexshamrai.launcher.CtrfListener");
+        verify(reportManager).startTestRun(eq("io.github.alexshamrai.launcher.CtrfListener"), any(), isNull());
+        verify(reportManager).onTestPlanDiscovered(testPlan);
     }
 
     @Test
@@ -0,0 +1,129 @@
+package io.github.alexshamrai.launcher;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineDiscoveryResult;
+import org.junit.platform.engine.SelectorResolutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestPlan;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LauncherDiscoveryTest {
+
+    @Test
+    @DisplayName("The discovery listener should time every engine and selector")
+    @SuppressWarnings("unchecked")
+    void discoveryListener_recordsEnginesAndSelectors() {
+        var listener = new CtrfDiscoveryListener();
+        var request = discoveryRequest();
+        var engineId = UniqueId.forEngine("junit-jupiter");
+        var firstSelector = DiscoverySelectors.selectClass("com.example.FirstTest");
+        var secondSelector = DiscoverySelectors.selectClass("com.example.SecondTest");
+
+        listener.launcherDiscoveryStarted(request);
+        listener.engineDiscoveryStarted(engineId);
+        listener.selectorProcessed(engineId, firstSelector, SelectorResolutionResult.resolved());
+        listener.selectorProcessed(engineId, secondSelector, SelectorResolutionResult.unresolved());
+        listener.engineDiscoveryFinished(engineId, EngineDiscoveryResult.successful());
+        listener.launcherDiscoveryFinished(request);
+
+        var discovery = LauncherDiscovery.of(testPlan(request));
+        assertNotNull(discovery);
+        var description = discovery.describe(10);
+        var engines = (List<Map<String, Object>>) description.get("engines");
+        assertEquals(1, engines.size());
+        assertEquals("junit-jupiter", engines.get(0).get("engine"));
+        assertEquals(2, engines.get(0).get("selectors"));
+        assertEquals("SUCCESSFUL", engines.get(0).get("status"));
+        var selectors = (List<Map<String, Object>>) description.get("slowestSelectors");
+        assertEquals(Set.of("class:com.example.FirstTest", "class:com.example.SecondTest"),
+            selectors.stream().map(selector -> selector.get("selector")).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Only the slowest selectors should be kept and listed")
+    @SuppressWarnings("unchecked")
+    void describe_listsSlowestSelectors() throws InterruptedException {
+        var discovery = LauncherDiscovery.started();
+        discovery.engineStarted("junit-jupiter");
+        discovery.selectorProcessed("junit-jupiter", "class:com.example.SlowTest", "RESOLVED");
+        for (int i = 0; i < LauncherDiscovery.MAX_SLOWEST_SELECTORS; i++) {
+            discovery.selectorProcessed("junit-jupiter", "class:com.example.Test" + i, "RESOLVED");
+        }
+        Thread.sleep(5);
+        discovery.selectorProcessed("junit-jupiter", "class:com.example.SlowestTest", "RESOLVED");
+        discovery.selectorProcessed("unknown-engine", "class:com.example.OtherTest", "RESOLVED");
+        discovery.engineFinished("junit-jupiter", "SUCCESSFUL");
+        LauncherDiscovery.finished(discovery, Mockito.mock(ConfigurationParameters.class));
+
+        var description = discovery.describe(3);
+
+        var selectors = (List<Map<String, Object>>) description.get("slowestSelectors");
+        assertEquals(3, selectors.size());
+        assertEquals("class:com.example.SlowestTest", selectors.get(0).get("selector"));
+        var engines = (List<Map<String, Object>>) description.get("engines");
+        assertEquals(LauncherDiscovery.MAX_SLOWEST_SELECTORS + 2, engines.get(0).get("selectors"));
+    }
+
+    @Test
+    @DisplayName("A discovery that finished after the given time should not be the one of a run starting then")
+    void isFinishedBefore_ignoresLaterDiscovery() {
+        long beforeDiscovery = System.currentTimeMillis() - 1;
+        var discovery = LauncherDiscovery.started();
+        assertFalse(discovery.isFinishedBefore(System.currentTimeMillis()));
+
+        LauncherDiscovery.finished(discovery, Mockito.mock(ConfigurationParameters.class));
+
+        assertFalse(discovery.isFinishedBefore(beforeDiscovery));
+        assertTrue(discovery.isFinishedBefore(System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Every test plan should get the discovery of its own request")
+    void of_returnsDiscoveryOfTestPlanRequest() {
+        var firstRequest = discoveryRequest();
+        var secondRequest = discoveryRequest();
+        var firstListener = new CtrfDiscoveryListener();
+        var secondListener = new CtrfDiscoveryListener();
+
+        firstListener.launcherDiscoveryStarted(firstRequest);
+        secondListener.launcherDiscoveryStarted(secondRequest);
+        secondListener.launcherDiscoveryFinished(secondRequest);
+        firstListener.launcherDiscoveryFinished(firstRequest);
+
+        var firstDiscovery = LauncherDiscovery.of(testPlan(firstRequest));
+        var secondDiscovery = LauncherDiscovery.of(testPlan(secondRequest));
+        assertNotNull(firstDiscovery);
+        assertNotNull(secondDiscovery);
+        assertNotSame(firstDiscovery, secondDiscovery);
+        assertNull(LauncherDiscovery.of(testPlan(discoveryRequest())));
+    }
+
+    private static LauncherDiscoveryRequest discoveryRequest() {
+        var request = Mockito.mock(LauncherDiscoveryRequest.class);
+        Mockito.when(request.getConfigurationParameters()).thenReturn(Mockito.mock(ConfigurationParameters.class));
+        return request;
+    }
+
+    private static TestPlan testPlan(LauncherDiscoveryRequest request) {
+        var testPlan = Mockito.mock(TestPlan.class);
+        var configurationParameters = request.getConfigurationParameters();
+        Mockito.when(testPlan.getConfigurationParameters()).thenReturn(configurationParameters);
+        return testPlan;
+    }
+}
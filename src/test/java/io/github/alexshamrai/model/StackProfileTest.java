@@ -0,0 +1,37 @@
+package io.github.alexshamrai.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StackProfileTest {
+
+    @Test
+    void add_foldsStackFromRootToTop() {
+        var profile = new StackProfile();
+
+        profile.add(stack(3), 3);
+
+        assertEquals(1, profile.getSamples());
+        assertEquals(Map.of("Frame.m2;Frame.m1;Frame.m0", 1L), profile.getFoldedStacks());
+    }
+
+    @Test
+    void add_marksTruncatedStack() {
+        var profile = new StackProfile();
+
+        profile.add(stack(4), 2);
+
+        assertEquals(Map.of("[truncated];Frame.m1;Frame.m0", 1L), profile.getFoldedStacks());
+    }
+
+    private static StackTraceElement[] stack(int depth) {
+        var stackTrace = new StackTraceElement[depth];
+        for (int i = 0; i < depth; i++) {
+            stackTrace[i] = new StackTraceElement("Frame", "m" + i, null, -1);
+        }
+        return stackTrace;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.alexshamrai.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.alexshamrai.ctrf.model.CtrfJson;
+import io.github.alexshamrai.ctrf.model.Extra;
+import io.github.alexshamrai.ctrf.model.Results;
+import io.github.alexshamrai.ctrf.model.Summary;
+import io.github.alexshamrai.ctrf.model.Test;
+import io.github.alexshamrai.ctrf.model.Tool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldMatchJacksonForReport() throws Exception {
+        var customData = new LinkedHashMap<String, Object>();
+        customData.put("owner", "team-a");
+        customData.put("weights", List.of(1, 2.5));
+        var test = Test.builder()
+            .name("shouldWork()")
+            .status(Test.TestStatus.PASSED)
+            .duration(12)
+            .start(1000L)
+            .stop(1012L)
+            .tags(List.of("smoke"))
+            .flaky(true)
+            .extra(Extra.builder().customData(customData).stallSamples(List.of("Running for 5 ms")).build())
+            .build();
+        var ctrfJson = CtrfJson.builder()
+            .reportId("id")
+            .results(Results.builder()
+                .tool(Tool.builder().name("JUnit").build())
+                .summary(Summary.builder().tests(1).passed(1).start(1000L).stop(1012L).build())
+                .tests(List.of(test))
+                .build())
+            .build();
+
+        var expected = objectMapper.readTree(objectMapper.writeValueAsString(ctrfJson));
+
+        assertEquals(expected, objectMapper.readTree(JsonUtil.toJson(ctrfJson)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldEscapeStrings() {
+        assertEquals("\"a\\\"b\\\\c\\n\\t\\u0001\"", JsonUtil.toJson("a\"b\\c\n\t\u0001"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldOmitNullPropertiesAndKeepNullElements() {
+        var test = Test.builder().name("n").build();
+        var values = new java.util.ArrayList<String>();
+        values.add(null);
+
+        assertEquals("{\"name\":\"n\",\"duration\":0}", JsonUtil.toJson(test));
+        assertEquals("[null]", JsonUtil.toJson(values));
+    }
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldWriteNonFiniteNumbersAsNull() {
+        assertEquals("{\"ratio\":null}", JsonUtil.toJson(Map.of("ratio", Double.NaN)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldWriteInaccessibleObjectsAsString() {
+        assertEquals("{\"timeout\":\"PT5S\"}", JsonUtil.toJson(Map.of("timeout", Duration.ofSeconds(5))));
+    }
+
+    @org.junit.jupiter.api.Test
+    void toJson_shouldWriteRecurringValueAsNull() {
+        var values = new ArrayList<Object>();
+        values.add("a");
+        values.add(values);
+        var map = new LinkedHashMap<String, Object>();
+        map.put("self", map);
+        var shared = List.of(1);
+
+        assertEquals("[\"a\",null]", JsonUtil.toJson(values));
+        assertEquals("{\"self\":null}", JsonUtil.toJson(map));
+        assertEquals("[[1],[1]]", JsonUtil.toJson(List.of(shared, shared)));
+    }
+}
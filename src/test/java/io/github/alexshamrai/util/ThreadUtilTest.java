@@ -0,0 +1,70 @@
+package io.github.alexshamrai.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ThreadUtilTest {
+
+    @Test
+    void describe_shouldReturnName_forNamedThread() {
+        var thread = new Thread(() -> { }, "worker-1");
+
+        assertEquals("worker-1", ThreadUtil.describe(thread));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void describe_shouldReturnId_forUnnamedPlatformThread() {
+        var thread = new Thread(() -> { }, "");
+
+        assertEquals("thread-" + thread.getId(), ThreadUtil.describe(thread));
+    }
+
+    @Test
+    void carrierOf_shouldReturnNull_forPlatformThread() {
+        assertFalse(ThreadUtil.isVirtual(Thread.currentThread()));
+        assertNull(ThreadUtil.carrierOf(Thread.currentThread()));
+    }
+
+    @Test
+    void describe_shouldIdentifyVirtualThreadAndItsCarrier() throws Exception {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        assumeTrue(executor != null, "Virtual threads are not supported by this runtime");
+
+        var description = new AtomicReference<String>();
+        var carrier = new AtomicReference<String>();
+        var virtual = new AtomicReference<Boolean>();
+        try {
+            executor.submit(() -> {
+                var thread = Thread.currentThread();
+                virtual.set(ThreadUtil.isVirtual(thread));
+                description.set(ThreadUtil.describe(thread));
+                carrier.set(ThreadUtil.carrierOf(thread));
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(virtual.get());
+        assertTrue(description.get().startsWith("virtual-"));
+        assertNotNull(carrier.get());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}